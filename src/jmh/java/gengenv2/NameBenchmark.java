@@ -0,0 +1,163 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+package gengenv2;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the generation, stressing, and rendering of names. Every benchmark runs over the same fixed
+ * corpus of seeds, so that results may be compared across commits. Each Phonology's stress rules and random
+ * number stream are also seeded from the corpus, so that every run exercises the same names.
+ * 
+ * @since	1.2
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class NameBenchmark
+{
+	static final int SAMPLE_SIZE = 1024;	// Number of pregenerated names cycled through by per-name benchmarks
+	
+	@Param({ "1", "42", "1729", "2019", "65537" })
+	long seed;
+	
+	@Param({ "100" })
+	int batchSize;
+	
+	Phonology phonology;
+	Name[] sample;
+	CompactName[] compactSample;
+	StringBuilder buffer = new StringBuilder();
+	int next;
+	
+	@Setup(Level.Trial)
+	public void setup()
+	{
+		phonology = new Phonology(seed);
+		phonology.stressRules = new StressRules(seed);
+		
+		List<Name> names = phonology.newGenerator(0).makeNames(SAMPLE_SIZE);
+		sample = names.toArray(new Name[SAMPLE_SIZE]);
+		
+		compactSample = new CompactName[SAMPLE_SIZE];
+		for (int i = 0; i < SAMPLE_SIZE; i++)
+			compactSample[i] = sample[i].compact();
+	}
+	
+	@Setup(Level.Iteration)
+	public void reseed()
+	{
+		phonology.rng = new Random(seed);
+		next = 0;
+	}
+	
+	/**
+	 * @return	The next name in the pregenerated sample
+	 */
+	private Name nextName()
+	{
+		Name name = sample[next];
+		next = (next + 1) % SAMPLE_SIZE;
+		return name;
+	}
+	
+	/**
+	 * Generates a single name.
+	 */
+	@Benchmark
+	public Name makeName()
+	{
+		return phonology.makeName();
+	}
+	
+	/**
+	 * Generates a batch of names.
+	 */
+	@Benchmark
+	public List<Name> makeNames()
+	{
+		return phonology.makeNames(batchSize);
+	}
+	
+	/**
+	 * Assigns stress to a pregenerated name.
+	 */
+	@Benchmark
+	public Name addStresses()
+	{
+		Name name = nextName();
+		phonology.stressRules.addStresses(name);
+		return name;
+	}
+	
+	/**
+	 * Renders a pregenerated name in the default orthography.
+	 */
+	@Benchmark
+	public String renderDefault()
+	{
+		Name name = nextName();
+		name.renderDefault();
+		return name.getDefault();
+	}
+	
+	/**
+	 * Renders a pregenerated name in IPA.
+	 */
+	@Benchmark
+	public String renderIPA()
+	{
+		Name name = nextName();
+		name.renderIPA();
+		return name.getIPA();
+	}
+	
+	/**
+	 * Renders a pregenerated compact name in plain text into a reused buffer, as a bulk exporter would.
+	 */
+	@Benchmark
+	public int appendPlain()
+	{
+		CompactName name = compactSample[next];
+		next = (next + 1) % SAMPLE_SIZE;
+		
+		buffer.setLength(0);
+		name.appendPlain(buffer);
+		return buffer.length();
+	}
+}
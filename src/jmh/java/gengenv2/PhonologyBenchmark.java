@@ -0,0 +1,92 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+package gengenv2;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the construction of Phonologies and the selection of syllable segments from their inventories.
+ * Every benchmark runs over the same fixed corpus of seeds, so that results may be compared across commits.
+ * 
+ * @since	1.2
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PhonologyBenchmark
+{
+	@Param({ "1", "42", "1729", "2019", "65537" })
+	long seed;
+	
+	Phonology phonology;
+	Random rng;
+	
+	@Setup
+	public void setup()
+	{
+		phonology = new Phonology(seed);
+		rng = new Random(seed);
+	}
+	
+	/**
+	 * Constructs a Phonology from scratch.
+	 */
+	@Benchmark
+	public Phonology construct()
+	{
+		return new Phonology(seed);
+	}
+	
+	/**
+	 * Picks a simple onset, the most frequently drawn syllable segment.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Object pickSimpleOnset()
+	{
+		return phonology.pickSyllableSegment(phonology.onsetTables[0], rng);
+	}
+	
+	/**
+	 * Picks a simple nucleus.
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.NANOSECONDS)
+	public Object pickSimpleNucleus()
+	{
+		return phonology.pickSyllableSegment(phonology.nucleusTables[0], rng);
+	}
+}
@@ -0,0 +1,162 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ *
+ */
+
+package gengenv2;
+
+import java.util.List;
+import java.util.Random;
+
+import gengenv2.Phonology.Constituent;
+
+/**
+ * A precomputed table for drawing Constituents from a fixed probability distribution in constant time, using
+ * Walker's alias method (as constructed by Vose's algorithm). The table is built once from a list of Constituents
+ * and their weights; every subsequent draw costs a single random number and two array lookups, regardless of
+ * the number of entries, where a linear scan of the inventory would cost time proportional to its size.
+ *
+ * @since	1.2
+ */
+final class AliasTable
+{
+	final Constituent[] content;		// The Constituents that may be drawn from this table
+	final double[] probabilities;		// The normalized probability of drawing each Constituent
+	final double[] informationContent;	// The information content of drawing each Constituent, -log(probability)
+	private final double[] cutoffs;		// The chance of keeping each column's own entry rather than its alias
+	private final int[] aliases;		// The entry drawn when a column's own entry is rejected
+
+	/**
+	 * Builds an alias table for the given Constituents. Weights need not be normalized; non-positive weights
+	 * are treated as 0, so that their Constituents are never drawn.
+	 *
+	 * @param	content	The Constituents to be drawn
+	 * @param	weights	The relative weight of each Constituent
+	 * @since	1.2
+	 */
+	AliasTable(Constituent[] content, double[] weights)
+	{
+		int n = content.length;
+		this.content = content;
+		probabilities = new double[n];
+		informationContent = new double[n];
+		cutoffs = new double[n];
+		aliases = new int[n];
+
+		// Normalize weights
+		double total = 0;
+		for (int i = 0; i < n; i++)
+			if (weights[i] > 0)
+				total += weights[i];
+
+		for (int i = 0; i < n; i++)
+		{
+			probabilities[i] = (weights[i] > 0 && total > 0) ? weights[i] / total : 0;
+			informationContent[i] = -Math.log(probabilities[i]);
+		}
+
+		// Scale each probability by the number of columns, then sort the columns into those that are
+		// underfull (scaled probability < 1) and those that are overfull. Both lists are kept as stacks
+		// in a single array: small entries from the front, large entries from the back.
+		double[] scaled = new double[n];
+		int[] worklist = new int[n];
+		int small = 0, large = n;
+
+		for (int i = 0; i < n; i++)
+		{
+			scaled[i] = probabilities[i] * n;
+			if (scaled[i] < 1)
+				worklist[small++] = i;
+			else
+				worklist[--large] = i;
+		}
+
+		// Pair each underfull column with an overfull one, which donates the remainder of the column's
+		// probability mass and becomes its alias
+		while (small > 0 && large < n)
+		{
+			int s = worklist[--small];
+			int l = worklist[large++];
+
+			cutoffs[s] = scaled[s];
+			aliases[s] = l;
+
+			scaled[l] = (scaled[l] + scaled[s]) - 1;
+			if (scaled[l] < 1)
+				worklist[small++] = l;
+			else
+				worklist[--large] = l;
+		}
+
+		// Any columns left over are full up to rounding error
+		while (large < n)
+		{
+			int l = worklist[large++];
+			cutoffs[l] = 1;
+			aliases[l] = l;
+		}
+		while (small > 0)
+		{
+			int s = worklist[--small];
+			cutoffs[s] = 1;
+			aliases[s] = s;
+		}
+	}
+
+	/**
+	 * Builds an alias table for a list of Constituents, weighted according to their own probabilities.
+	 *
+	 * @param	inventory	A list of syllable segments (onsets, nuclei, or codas) of a particular length
+	 * @return	An alias table for drawing from the inventory
+	 * @since	1.2
+	 */
+	static AliasTable of(List<Constituent> inventory)
+	{
+		Constituent[] content = inventory.toArray(new Constituent[inventory.size()]);
+		double[] weights = new double[content.length];
+		for (int i = 0; i < content.length; i++)
+			weights[i] = content[i].probability;
+
+		return new AliasTable(content, weights);
+	}
+
+	/**
+	 * Draws the index of a random entry from the table. The table must not be empty.
+	 *
+	 * @param	rng		The random number generator with which to make the draw
+	 * @return	The index of the selected entry
+	 * @since	1.2
+	 */
+	int sample(Random rng)
+	{
+		// A single uniform number picks both the column (its integer part) and whether to keep that
+		// column's own entry or its alias (its fractional part)
+		double u = rng.nextDouble() * cutoffs.length;
+		int i = (int) u;
+
+		return (u - i < cutoffs[i]) ? i : aliases[i];
+	}
+
+	/**
+	 * @return	The number of entries in this table
+	 * @since	1.2
+	 */
+	int size()
+	{
+		return content.length;
+	}
+}
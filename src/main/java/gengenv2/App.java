@@ -19,9 +19,14 @@
 
 package gengenv2;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Locale;
+import java.util.Random;
 
 /**
  * Maven's default program for demonstrating Gengen. Mostly used for testing.
@@ -32,12 +37,19 @@ public class App
 {
 	/**
 	 * Generates a Phonology and generates a number of names, which are then printed along with their
-	 * information content measurement and IPA pronunciation.
+	 * information content measurement and IPA pronunciation. If the first argument is "export", names are instead
+	 * written to a file, as described in export().
 	 * @param	args	Default parameter
 	 * @since	1.0
 	 */
-    public static void main(String[] args)
-    {    	
+    public static void main(String[] args) throws IOException
+    {
+    	if (args.length > 0 && args[0].equals("export"))
+    	{
+    		export(Arrays.copyOfRange(args, 1, args.length));
+    		return;
+    	}
+    	
 		Phonology p = new Phonology();
     	
 		List<Name> names = p.makeNames(60);
@@ -55,6 +67,7 @@ public class App
 		});
 		
 		Name langName = p.makeName();
+		System.out.println("Phonology Seed: " + p.getSeed());
 		System.out.println("Language: " + langName.getDefault().toUpperCase());
 		
 		int columns = 3;
@@ -71,6 +84,106 @@ public class App
 		}
     }
     
+    /**
+     * Writes names from one or more Phonologies to a file with a NameExporter. The first argument is the file to
+     * write; the rest are options:
+     * 	-n <count>				Names per seed (default 10000)
+     * 	-s <seed>[,<seed>...]	The seeds to export (default one random seed)
+     * 	-r <first> <count>		A range of consecutive seeds to export
+     * 	-f lines|tsv|binary		The file format (default lines)
+     * 	-z none|gzip|deflate	The compression (default none)
+     * 	-t <threads>			The number of generator threads (default one per processor)
+     * @param	args	The file and options
+     * @throws	IOException	If the file cannot be written
+     * @since	1.2
+     */
+    public static void export(String[] args) throws IOException
+    {
+    	if (args.length == 0)
+    	{
+    		exportUsage();
+    		return;
+    	}
+    	
+    	long names = 10000;
+    	long[] seeds = { new Random().nextLong() };
+    	NameExporter.Format format = NameExporter.Format.LINES;
+    	NameExporter.Compression compression = NameExporter.Compression.NONE;
+    	int threads = Runtime.getRuntime().availableProcessors();
+    	
+    	try
+    	{
+    		for (int i = 1; i < args.length; i++)
+    		{
+    			// Every option takes one value but -r, which takes two
+    			if (i + (args[i].equals("-r") ? 2 : 1) >= args.length)
+    				throw new IllegalArgumentException("Missing value for option: " + args[i]);
+    			
+    			switch (args[i])
+    			{
+    				case "-n":
+    					names = Long.parseLong(args[++i]);
+    					if (names < 0)
+    						throw new IllegalArgumentException("Negative name count: " + names);
+    					break;
+    				case "-s":
+    					seeds = Arrays.stream(args[++i].split(",")).mapToLong(Long::parseLong).toArray();
+    					break;
+    				case "-r":
+    					long first = Long.parseLong(args[++i]);
+    					int count = Integer.parseInt(args[++i]);
+    					if (count < 0)
+    						throw new IllegalArgumentException("Negative seed count: " + count);
+    					seeds = new long[count];
+    					for (int j = 0; j < seeds.length; j++)
+    						seeds[j] = first + j;
+    					break;
+    				case "-f":
+    					format = NameExporter.Format.valueOf(args[++i].toUpperCase(Locale.ROOT));
+    					break;
+    				case "-z":
+    					compression = NameExporter.Compression.valueOf(args[++i].toUpperCase(Locale.ROOT));
+    					break;
+    				case "-t":
+    					threads = Integer.parseInt(args[++i]);
+    					if (threads < 1)
+    						throw new IllegalArgumentException("Thread count must be positive: " + threads);
+    					break;
+    				default:
+    					throw new IllegalArgumentException("Unknown option: " + args[i]);
+    			}
+    		}
+    	}
+    	catch (IllegalArgumentException e)
+    	{
+    		// Includes NumberFormatException, from unparseable numbers, unknown format or compression names, and
+    		// counts out of range
+    		System.err.println(e.getMessage());
+    		exportUsage();
+    		return;
+    	}
+    	
+    	long start = System.nanoTime();
+    	NameExporter.Summary summary = new NameExporter(format, compression, threads).export(seeds, names,
+    			Paths.get(args[0]));
+    	double seconds = (System.nanoTime() - start) / 1e9;
+    	
+    	System.out.printf("Wrote %d names (%d bytes) in %.2f s%n", summary.getNames(), summary.getBytes(), seconds);
+    	if (!summary.getFailedSeeds().isEmpty())
+    		System.out.println("Failed seeds: " + summary.getFailedSeeds());
+    }
+    
+    /**
+     * Prints the usage of the export command.
+     * 
+     * @since	1.2
+     */
+    private static void exportUsage()
+    {
+    	System.err.println("Usage: export <file> [-n count] [-s seed,...] [-r first count] [-f lines|tsv|binary] "
+    			+ "[-z none|gzip|deflate] [-t threads]");
+    }
+    
     /**
      * Pads the given string with tabs and whitespaces until it reaches the given length. Used to format
      * console output.
@@ -0,0 +1,182 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+/**
+ * An analytic estimate of how often a Phonology repeats itself, computed from its inventories and the chances of
+ * the name assembly flowchart without generating any names.
+ * 
+ * The estimate rests on the collision probability of the name distribution, the chance that two names drawn
+ * independently are the same, which is the sum of the squares of the probabilities of every possible name. A
+ * name is an initial onset, a medial rime for each syllable after the first, and a terminal rime, so among names
+ * of n syllables the collision probability is
+ * 		C(n) = C(initial onset) * C(medial rime)^(n - 1) * C(terminal rime)
+ * Its negative logarithm is the Rényi entropy of order 2, and its reciprocal is the effective number of equally
+ * likely names: a Phonology with collision probability C repeats itself as often as a uniform choice among 1 / C
+ * names would.
+ * 
+ * The estimate takes every decision at its basic chance, as the entropy estimates used in name assembly do, so it
+ * is a guide to sizing pools of names and deduplication tables rather than an exact prediction. In particular,
+ * name assembly steers names toward their target information content, favoring likelier choices in long names
+ * and less likely ones in short names, so that names of more syllables than usual repeat more often than
+ * estimated, and names of fewer syllables less often.
+ * 
+ * @since	1.2
+ * @see		Phonology#estimateCollisions()
+ */
+public final class CollisionEstimate
+{
+	private final double initialOnset;	// Collision probability of the initial onset
+	private final double medialRime;	// Collision probability of each medial rime
+	private final double terminalRime;	// Collision probability of the terminal rime
+	
+	/**
+	 * @param	initialOnset	Collision probability of the initial onset
+	 * @param	medialRime		Collision probability of each medial rime
+	 * @param	terminalRime	Collision probability of the terminal rime
+	 * @since	1.2
+	 */
+	CollisionEstimate(double initialOnset, double medialRime, double terminalRime)
+	{
+		this.initialOnset = initialOnset;
+		this.medialRime = medialRime;
+		this.terminalRime = terminalRime;
+	}
+	
+	/**
+	 * Returns the chance that two names of the given number of syllables are the same.
+	 * 
+	 * @param	syllables	The number of syllables, at least 1
+	 * @return	The collision probability of names of that many syllables
+	 * @since	1.2
+	 */
+	public double getCollisionProbability(int syllables)
+	{
+		if (syllables < 1)
+			throw new IllegalArgumentException("Syllable count must be positive: " + syllables);
+		
+		return initialOnset * Math.pow(medialRime, syllables - 1) * terminalRime;
+	}
+	
+	/**
+	 * Returns the chance that two names are the same, given the distribution of their number of syllables. Names
+	 * of different lengths never collide, so this is the sum, over each length, of the square of its probability
+	 * times the collision probability of names of that length.
+	 * 
+	 * @param	syllableDistribution	The probability of each number of syllables, beginning with 1
+	 * @return	The collision probability of names of the given mixture of lengths
+	 * @since	1.2
+	 */
+	public double getCollisionProbability(double[] syllableDistribution)
+	{
+		double result = 0;
+		for (int i = 0; i < syllableDistribution.length; i++)
+			result += syllableDistribution[i] * syllableDistribution[i] * getCollisionProbability(i + 1);
+		
+		return result;
+	}
+	
+	/**
+	 * @param	syllables	The number of syllables, at least 1
+	 * @return	The Rényi entropy of order 2 of names of that many syllables, in nats
+	 * @since	1.2
+	 */
+	public double getRenyiEntropy(int syllables)
+	{
+		return -Math.log(getCollisionProbability(syllables));
+	}
+	
+	/**
+	 * @param	syllables	The number of syllables, at least 1
+	 * @return	The number of equally likely names that would repeat as often as names of that many syllables
+	 * @since	1.2
+	 */
+	public double getEffectiveSize(int syllables)
+	{
+		return 1 / getCollisionProbability(syllables);
+	}
+	
+	/**
+	 * @param	syllables	The number of syllables, at least 1
+	 * @return	The expected number of names of that many syllables drawn before the first repeat
+	 * @since	1.2
+	 */
+	public double getDrawsUntilFirstRepeat(int syllables)
+	{
+		return drawsUntilFirstRepeat(getCollisionProbability(syllables));
+	}
+	
+	/**
+	 * @param	syllables	The number of syllables, at least 1
+	 * @param	rate		The fraction of new draws that repeat an earlier name, between 0 and 1
+	 * @return	The number of names of that many syllables drawn before repeats reach the given rate
+	 * @since	1.2
+	 */
+	public double getDrawsUntilRepeatRate(int syllables, double rate)
+	{
+		return drawsUntilRepeatRate(getCollisionProbability(syllables), rate);
+	}
+	
+	/**
+	 * Returns the expected number of draws before the first repeat from a distribution with the given collision
+	 * probability, by the birthday approximation for a uniform choice among 1 / C items: the square root of
+	 * pi / 2C.
+	 * 
+	 * @param	collisionProbability	The collision probability of the distribution
+	 * @return	The expected number of draws before the first repeat
+	 * @since	1.2
+	 */
+	public static double drawsUntilFirstRepeat(double collisionProbability)
+	{
+		return Math.sqrt(Math.PI / (2 * collisionProbability));
+	}
+	
+	/**
+	 * Returns the number of draws from a distribution with the given collision probability after which the given
+	 * fraction of new draws are repeats. For a uniform choice among N = 1 / C items, after k draws the next is a
+	 * repeat with probability 1 - (1 - 1/N)^k, or about 1 - e^(-kC), which reaches the rate r at k = -ln(1 - r) / C.
+	 * 
+	 * @param	collisionProbability	The collision probability of the distribution
+	 * @param	rate					The fraction of new draws that repeat an earlier one, between 0 and 1
+	 * @return	The number of draws after which repeats reach the given rate
+	 * @since	1.2
+	 */
+	public static double drawsUntilRepeatRate(double collisionProbability, double rate)
+	{
+		if (!(rate >= 0 && rate < 1))
+			throw new IllegalArgumentException("Repeat rate must lie in [0, 1): " + rate);
+		
+		return -Math.log1p(-rate) / collisionProbability;
+	}
+	
+	/**
+	 * @return	A summary of the collision probability of names of one to five syllables
+	 * @since	1.2
+	 */
+	public String toString()
+	{
+		StringBuilder sb = new StringBuilder();
+		for (int n = 1; n <= 5; n++)
+			sb.append(String.format("%d syllables: C = %.3e, H2 = %.3f, first repeat after %.0f names%n", n,
+					getCollisionProbability(n), getRenyiEntropy(n), getDrawsUntilFirstRepeat(n)));
+		return sb.toString();
+	}
+}
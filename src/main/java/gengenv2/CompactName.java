@@ -0,0 +1,633 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+package gengenv2;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import gengenv2.Name.Syllable;
+import gengenv2.Phonology.Constituent;
+
+/**
+ * A compact, immutable encoding of a Name, for keeping large numbers of names in memory. Where a Name holds a list
+ * of Syllables, each holding an array of Constituents, and caches up to three Strings, a CompactName holds a
+ * single byte array of phonetic segments, syllable structure, and stresses, along with its information content.
+ * Its string representations are rendered on demand and not retained.
+ * 
+ * The byte array is laid out as follows:
+ * 1.	the number of syllables, n, seven bits to a byte, least significant first, with the top bit set on every
+ * 		byte but the last, so that names of fewer than 128 syllables take a single byte;
+ * 2.	n bytes giving the ordinal of each syllable's Stress;
+ * 3.	one byte per segment, in order. The low six bits of each byte identify the segment: consonants by their
+ * 		id, and vowels by their id plus the number of consonants. The top two bits mark the beginning of an
+ * 		onset, nucleus, or coda, or are clear if the segment continues the same constituent as the last.
+ * Syllable boundaries are not stored, as they follow from the constituents in the same way as in Name.add():
+ * an onset always begins a syllable, as does a nucleus that is not preceded by an onset in the same syllable.
+ * 
+ * @since	1.2
+ */
+public final class CompactName
+{
+	// Constituent marks, in the top two bits of each segment byte
+	static final int CONTINUATION	= 0x00;
+	static final int ONSET			= 0x40;
+	static final int NUCLEUS		= 0x80;
+	static final int CODA			= 0xC0;
+	static final int MARK			= 0xC0;
+	static final int CODE			= 0x3F;
+	
+	private final byte[] data;					// Encoded syllables, stresses, and segments
+	private final double informationContent;	// Information content of the encoded Name
+	
+	/**
+	 * Creates a CompactName from its encoded form.
+	 * 
+	 * @param	data				The encoded name, laid out as described above
+	 * @param	informationContent	The information content of the name
+	 * @since	1.2
+	 */
+	CompactName(byte[] data, double informationContent)
+	{
+		this.data = data;
+		this.informationContent = informationContent;
+	}
+	
+	/**
+	 * Encodes the given Name.
+	 * 
+	 * @param	name	The Name to encode
+	 * @return	A CompactName with the same segments, syllables, stresses, and information content
+	 * @since	1.2
+	 */
+	public static CompactName of(Name name)
+	{
+		// Count segments to size the array exactly
+		int syllableCount = name.getSyllables().size();
+		int header = 1;
+		for (int n = syllableCount >>> 7; n > 0; n >>>= 7)
+			header++;
+		
+		int length = header + syllableCount;
+		for (Syllable syl : name.getSyllables())
+			for (Constituent c : syl.constituents)
+				if (c != null)
+					length += c.content.length;
+		
+		byte[] data = new byte[length];
+		for (int i = 0, n = syllableCount; i < header; i++, n >>>= 7)
+			data[i] = (byte) ((n & 0x7F) | (i < header - 1 ? 0x80 : 0));
+		
+		int pos = header + syllableCount;
+		for (int i = 0; i < syllableCount; i++)
+		{
+			Syllable syl = name.getSyllables().get(i);
+			data[header + i] = (byte) syl.stress.ordinal();
+			
+			for (int j = 0; j < 3; j++)
+			{
+				Constituent c = syl.constituents[j];
+				if (c != null)
+					for (int k = 0; k < c.content.length; k++)
+					{
+						int mark = (k > 0) ? CONTINUATION : (j == 0) ? ONSET : (j == 1) ? NUCLEUS : CODA;
+						data[pos++] = (byte) (mark | code(c.content[k].segment));
+					}
+			}
+		}
+		
+		return new CompactName(data, name.getInformationContent());
+	}
+	
+	/**
+	 * Reads a name written by write(ByteBuffer) from the given buffer.
+	 * 
+	 * @param	buffer	The buffer from which to read the name
+	 * @return	The name that was written
+	 * @since	1.2
+	 */
+	static CompactName read(ByteBuffer buffer)
+	{
+		byte[] data = new byte[buffer.getShort() & 0xFFFF];
+		buffer.get(data);
+		return new CompactName(data, buffer.getDouble());
+	}
+	
+	/**
+	 * Writes this name to the given buffer as the length of its encoding (an unsigned short), the encoding itself,
+	 * and its information content.
+	 * 
+	 * @param	buffer	The buffer to which to write the name, which must have at least serializedSize() bytes left
+	 * @since	1.2
+	 */
+	void write(ByteBuffer buffer)
+	{
+		buffer.putShort((short) data.length);
+		buffer.put(data);
+		buffer.putDouble(informationContent);
+	}
+	
+	/**
+	 * @return	The number of bytes taken up by this name when written by write(ByteBuffer)
+	 * @since	1.2
+	 */
+	int serializedSize()
+	{
+		return 2 + data.length + 8;
+	}
+	
+	/**
+	 * @param	s	A consonant or vowel
+	 * @return	The six-bit code identifying the segment
+	 */
+	static int code(Segment s)
+	{
+		return s.isConsonant() ? s.id : Consonant.segments.length + s.id;
+	}
+	
+	/**
+	 * @param	code	A six-bit segment code
+	 * @return	The consonant or vowel identified by the code
+	 */
+	static Segment segment(int code)
+	{
+		return (code < Consonant.segments.length) ? Consonant.segments[code] : Vowel.segments[code - Consonant.segments.length];
+	}
+	
+	/**
+	 * @return	The number of syllables in this name
+	 * @since	1.2
+	 */
+	public int getSyllableCount()
+	{
+		int n = 0;
+		for (int i = 0; ; i++)
+		{
+			n |= (data[i] & 0x7F) << (7 * i);
+			if ((data[i] & 0x80) == 0)
+				return n;
+		}
+	}
+	
+	/**
+	 * @return	The index of the first syllable's stress, following the number of syllables
+	 */
+	private int stresses()
+	{
+		int i = 0;
+		while ((data[i] & 0x80) != 0)
+			i++;
+		return i + 1;
+	}
+	
+	/**
+	 * @return	The index of the first segment, following the stresses
+	 */
+	private int segments()
+	{
+		return stresses() + getSyllableCount();
+	}
+	
+	/**
+	 * @param	syllable	The index of a syllable
+	 * @return	The stress of the given syllable
+	 * @since	1.2
+	 */
+	Stress getStress(int syllable)
+	{
+		return Stress.values()[data[stresses() + syllable]];
+	}
+	
+	/**
+	 * @return	The number of segments in this name
+	 * @since	1.2
+	 */
+	public int getSegmentCount()
+	{
+		return data.length - segments();
+	}
+	
+	/**
+	 * @return	A measurement of the information content of this name
+	 * @since	1.2
+	 */
+	public double getInformationContent()
+	{
+		return informationContent;
+	}
+	
+	/**
+	 * @return	The recommended representation of this name, with symbols and diacritics to clarify pronunciation
+	 * @since	1.2
+	 */
+	public String getDefault()
+	{
+		return appendDefault(new StringBuilder()).toString();
+	}
+	
+	/**
+	 * @return	A concise representation of the name with no diacritics or symbols, except the glottal stop (')
+	 * @since	1.2
+	 */
+	public String getPlain()
+	{
+		return appendPlain(new StringBuilder()).toString();
+	}
+	
+	/**
+	 * @return	A representation of the name in IPA symbols
+	 * @since	1.2
+	 */
+	public String getIPA()
+	{
+		return appendIPA(new StringBuilder()).toString();
+	}
+	
+	/**
+	 * Returns the length of one constituent of a syllable.
+	 * 
+	 * @param	syllable	The index of the syllable
+	 * @param	mark		The constituent's mark (ONSET, NUCLEUS, or CODA)
+	 * @return	The number of segments in the constituent, or 0 if the syllable has no such constituent
+	 */
+	private int constituentLength(int syllable, int mark)
+	{
+		int length = 0;
+		int s = -1, current = CONTINUATION;
+		boolean hasNucleus = false;
+		
+		for (int pos = segments(); pos < data.length; pos++)
+		{
+			int m = data[pos] & MARK;
+			if (m == ONSET || (m == NUCLEUS && (s < 0 || hasNucleus)))
+			{
+				s++;
+				hasNucleus = false;
+			}
+			if (m != CONTINUATION)
+				current = m;
+			if (m == NUCLEUS)
+				hasNucleus = true;
+			
+			if (s == syllable && current == mark)
+				length++;
+			else if (s > syllable)
+				break;
+		}
+		
+		return length;
+	}
+	
+	/**
+	 * Returns true if a syllable that is not the last in the name is heavy: that is, if it has a complex nucleus
+	 * or any coda, or if the next syllable begins with a complex onset. This agrees with Syllable.isHeavy().
+	 * 
+	 * @param	syllable	The index of a syllable other than the last
+	 * @return	True if the syllable is heavy
+	 */
+	private boolean isHeavy(int syllable)
+	{
+		return constituentLength(syllable, NUCLEUS) > 1 || constituentLength(syllable, CODA) > 0 ||
+				constituentLength(syllable + 1, ONSET) > 1;
+	}
+	
+	/**
+	 * Renders this name with diacritics to mark stress and hiatus, and hyphens to disambiguate clusters, 
+	 * directly into the given StringBuilder.
+	 * 
+	 * @param	sb	The StringBuilder to which to append the rendering
+	 * @return	The same StringBuilder
+	 * @since	1.2
+	 */
+	public StringBuilder appendDefault(StringBuilder sb)
+	{
+		try
+		{
+			appendDefault((Appendable) sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return sb;
+	}
+	
+	/**
+	 * Renders this name with diacritics to mark stress and hiatus, and hyphens to disambiguate clusters, 
+	 * directly into the given Appendable, such as a Writer or CharBuffer.
+	 * 
+	 * @param	out		The Appendable to which to append the rendering
+	 * @throws	IOException	If the Appendable throws one
+	 * @since	1.2
+	 */
+	public void appendDefault(Appendable out) throws IOException
+	{
+		Output sb = new Output(out);
+		int n = getSyllableCount();
+		int stresses = stresses();
+		Segment prev, curr = null;
+		
+		// Primary stress is only marked where it falls somewhere other than where a reader would expect
+		boolean penultimateHeavy = n >= 3 && isHeavy(n - 2);
+		
+		int i = -1, j = 0, k = 0;
+		boolean hasNucleus = false;
+		for (int pos = stresses + n; pos < data.length; pos++)
+		{
+			// Find this segment's position in the name
+			int m = data[pos] & MARK;
+			if (m == ONSET || (m == NUCLEUS && (i < 0 || hasNucleus)))
+			{
+				i++;
+				hasNucleus = false;
+			}
+			if (m == CONTINUATION)
+				k++;
+			else
+			{
+				j = (m == ONSET) ? 0 : (m == NUCLEUS) ? 1 : 2;
+				k = 0;
+			}
+			if (m == NUCLEUS)
+				hasNucleus = true;
+			
+			prev = curr;
+			curr = segment(data[pos] & CODE);
+			
+			// 1. Omit initial glottal stops
+			if (sb.length() == 0 && curr.expression.equals("'"))
+			{
+				
+			}
+			
+			// 2. Add acute accents to mark unexpected emphasis
+			else if (j == 1 && k == 0 && data[stresses + i] == Stress.PRIMARY.ordinal() && 
+				!((n >= 3 && i == n - 3 && !penultimateHeavy) 
+						|| n >= 3 && i == n - 2 && penultimateHeavy
+						|| n == 2 && i == n - 2))
+			{
+				if (sb.length() == 0)
+					sb.appendCapitalized(((Vowel) curr).stress);
+				else
+					sb.append(((Vowel) curr).stress);
+			}
+			
+			// 2. Initial uppercase letter
+			else if (sb.length() == 0)
+			{
+				sb.appendCapitalized(curr.expression);
+			}
+			
+			// 3. Replace vowel lengtheners with a second of the corresponding vowel
+			else if (curr.expression.equals(":") && j > 0)
+			{
+				sb.append(Character.toLowerCase(sb.last()));
+			}
+			
+			// 4. Add diaeresis for applicable hiatus
+			else if (j == 1 && k == 0 && prev != null && !prev.isConsonant())
+			{
+				VowelProperty currClose = (VowelProperty) curr.properties[0];
+				VowelProperty prevClose = (VowelProperty) prev.properties[0];
+				
+				if (prev.expression.equals("y"))
+					sb.append(((Vowel) curr).diaeresis);
+				else if (currClose.ordinal() > prevClose.ordinal() || curr == prev)
+					sb.append(((Vowel) curr).diaeresis);
+				else
+					sb.append(curr.expression);
+			}
+			
+			// 5. Add hyphens before post-initial 'ng' onsets
+			else if (j == 0 && curr.expression.equals("ng"))
+			{
+				sb.append("-");
+				sb.append(curr.expression);
+			}
+			else
+				sb.append(curr.expression);
+		}
+	}
+	
+	/**
+	 * Renders this name without any diacritics or symbols (besides glottal stops) directly into the given
+	 * StringBuilder.
+	 * 
+	 * @param	sb	The StringBuilder to which to append the rendering
+	 * @return	The same StringBuilder
+	 * @since	1.2
+	 */
+	public StringBuilder appendPlain(StringBuilder sb)
+	{
+		try
+		{
+			appendPlain((Appendable) sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return sb;
+	}
+	
+	/**
+	 * Renders this name without any diacritics or symbols (besides glottal stops) directly into the given
+	 * Appendable, such as a Writer or CharBuffer.
+	 * 
+	 * @param	out		The Appendable to which to append the rendering
+	 * @throws	IOException	If the Appendable throws one
+	 * @since	1.2
+	 */
+	public void appendPlain(Appendable out) throws IOException
+	{
+		Output sb = new Output(out);
+		boolean nucleusOrCoda = false;	// Whether the current segment belongs to a nucleus or coda
+		
+		for (int pos = segments(); pos < data.length; pos++)
+		{
+			int m = data[pos] & MARK;
+			if (m != CONTINUATION)
+				nucleusOrCoda = (m != ONSET);
+			
+			Segment curr = segment(data[pos] & CODE);
+			
+			// 1. Omit initial glottal stops
+			if (sb.length() == 0 && curr.expression.equals("'"))
+			{
+				
+			}
+			
+			// 2. Initial uppercase letter
+			else if (sb.length() == 0)
+			{
+				sb.appendCapitalized(curr.expression);
+			}
+			
+			// 2. Replace vowel lengtheners with a second of the corresponding vowel
+			else if (curr.expression.equals(":") && nucleusOrCoda)
+			{
+				sb.append(Character.toLowerCase(sb.last()));
+			}
+			else
+				sb.append(curr.expression);
+		}
+	}
+	
+	/**
+	 * Renders this name in IPA symbols directly into the given StringBuilder.
+	 * 
+	 * @param	sb	The StringBuilder to which to append the rendering
+	 * @return	The same StringBuilder
+	 * @since	1.2
+	 */
+	public StringBuilder appendIPA(StringBuilder sb)
+	{
+		try
+		{
+			appendIPA((Appendable) sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return sb;
+	}
+	
+	/**
+	 * Renders this name in IPA symbols directly into the given Appendable, such as a Writer or CharBuffer.
+	 * 
+	 * @param	sb	The Appendable to which to append the rendering
+	 * @throws	IOException	If the Appendable throws one
+	 * @since	1.2
+	 */
+	public void appendIPA(Appendable sb) throws IOException
+	{
+		sb.append("[");
+		
+		int i = -1;
+		int stresses = stresses();
+		boolean hasNucleus = false;
+		for (int pos = stresses + getSyllableCount(); pos < data.length; pos++)
+		{
+			int m = data[pos] & MARK;
+			if (m == ONSET || (m == NUCLEUS && (i < 0 || hasNucleus)))
+			{
+				i++;
+				hasNucleus = false;
+				
+				// 1. Indicate stress and syllable breaks
+				if (data[stresses + i] == Stress.PRIMARY.ordinal())
+					sb.append('ˈ');
+				else if (data[stresses + i] == Stress.STRONG.ordinal())
+					sb.append('ˌ');
+				else if (i > 0)
+					sb.append('.');
+			}
+			if (m == NUCLEUS)
+				hasNucleus = true;
+			
+			sb.append(segment(data[pos] & CODE).ipa);
+		}
+		
+		sb.append("]");
+	}
+	
+	/**
+	 * A thin wrapper around an Appendable that keeps track of how much has been written to it and the last
+	 * character written, which the rendering rules depend on, so that they need never read back from it.
+	 */
+	private static final class Output
+	{
+		private final Appendable out;
+		private int length;			// Number of characters written
+		private char last;			// Last character written
+		
+		Output(Appendable out)
+		{
+			this.out = out;
+		}
+		
+		int length()
+		{
+			return length;
+		}
+		
+		char last()
+		{
+			return last;
+		}
+		
+		void append(char c) throws IOException
+		{
+			out.append(c);
+			length++;
+			last = c;
+		}
+		
+		void append(String s) throws IOException
+		{
+			if (s.isEmpty())
+				return;
+			
+			out.append(s);
+			length += s.length();
+			last = s.charAt(s.length() - 1);
+		}
+		
+		/**
+		 * Appends the given string with its first character in upper case.
+		 */
+		void appendCapitalized(String s) throws IOException
+		{
+			if (s.isEmpty())
+				return;
+			
+			append(Character.toUpperCase(s.charAt(0)));
+			if (s.length() > 1)
+			{
+				out.append(s, 1, s.length());
+				length += s.length() - 1;
+				last = s.charAt(s.length() - 1);
+			}
+		}
+	}
+	
+	/**
+	 * Two CompactNames are equal if they have the same segments, syllables, and stresses.
+	 * @since	1.2
+	 */
+	public boolean equals(Object o)
+	{
+		return o instanceof CompactName && Arrays.equals(data, ((CompactName) o).data);
+	}
+	
+	/**
+	 * @return	A hash of this name's segments, syllables, and stresses
+	 * @since	1.2
+	 */
+	public int hashCode()
+	{
+		return Arrays.hashCode(data);
+	}
+	
+	/**
+	 * @return	The default representation of the name
+	 * @since	1.2
+	 */
+	public String toString()
+	{
+		return getDefault();
+	}
+}
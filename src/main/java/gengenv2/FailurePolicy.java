@@ -0,0 +1,47 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+/**
+ * What a Phonology does when it fails to generate a name. Whatever the policy, every failure is added to the
+ * Phonology's failure count.
+ * 
+ * @since	1.2
+ * @see		Phonology#setFailurePolicy(FailurePolicy)
+ */
+public enum FailurePolicy
+{
+	/**
+	 * Try the name again from a fresh random number stream, seeded from the one that failed, up to the
+	 * Phonology's retry limit; if every attempt fails, throw the last GenerationException.
+	 */
+	RETRY,
+	
+	/**
+	 * Give up on the name. A single name comes back as null, and lists and streams of names leave it out.
+	 */
+	SKIP,
+	
+	/**
+	 * Throw a GenerationException immediately.
+	 */
+	FAIL_FAST;
+}
@@ -0,0 +1,54 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+/**
+ * Thrown when a Phonology fails to generate a name, as when a syllable segment must be drawn from an empty
+ * inventory or a set of probabilities fails to sum to 1. Such a failure affects only the name being generated;
+ * the Phonology itself remains usable, and may be asked to retry or skip failed names according to its
+ * FailurePolicy.
+ * 
+ * @since	1.2
+ * @see		FailurePolicy
+ */
+public class GenerationException extends RuntimeException
+{
+	private static final long serialVersionUID = 1L;
+	
+	/**
+	 * @param	message	A description of the failure
+	 * @since	1.2
+	 */
+	public GenerationException(String message)
+	{
+		super(message);
+	}
+	
+	/**
+	 * @param	message	A description of the failure
+	 * @param	cause	The exception that caused the failure
+	 * @since	1.2
+	 */
+	public GenerationException(String message, Throwable cause)
+	{
+		super(message, cause);
+	}
+}
@@ -19,6 +19,8 @@
 
 package gengenv2;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 
 import gengenv2.Phonology.Constituent;
@@ -105,80 +107,12 @@ public class Name
 	 */
 	public void renderDefault()
 	{
-		Segment prev, curr = null;
-		
 		StringBuilder sb = new StringBuilder();
-		for (int i = 0; i < syllables.size(); i++)
+		try
 		{
-			Syllable syl = syllables.get(i);
-	
-			for (int j = 0; j < 3; j++)
-			{
-				Constituent c = syl.constituents[j];
-				if (c != null)
-				{
-					for (int k = 0; k < c.content.length; k++)
-					{
-						prev = curr;
-						curr = c.content[k].segment;
-				
-						// 1. Omit initial glottal stops
-						if (sb.length() == 0 && curr.expression.equals("'"))
-						{
-							
-						}
-						
-						// 2. Add acute accents to mark unexpected emphasis
-						else if (j == 1 && k == 0 && syl.stress == Stress.PRIMARY && 
-							!((syllables.size() >= 3 && i == syllables.size() - 3 && !syllables.get(syllables.size() - 2).isHeavy()) 
-									|| syllables.size() >= 3 && i == syllables.size() - 2 && syllables.get(syllables.size() - 2).isHeavy()
-									|| syllables.size() == 2 && i == syllables.size() - 2))
-						{
-							String vowel = ((Vowel) curr).stress;
-							if (sb.length() == 0)
-								vowel = vowel.toUpperCase();
-							sb.append(vowel);
-						}
-						
-						// 2. Initial uppercase letter
-						else if (sb.length() == 0)
-						{
-							sb.append(curr.expression.substring(0,1).toUpperCase() + curr.expression.substring(1));
-						}
-						
-						// 3. Replace vowel lengtheners with a second of the corresponding vowel
-						else if (curr.expression.equals(":") && j > 0)
-						{
-							String prevChar = "" + sb.charAt(sb.length() - 1); 
-							sb.append(prevChar.toLowerCase());
-						}
-						
-						// 4. Add diaeresis for applicable hiatus
-						else if (j == 1 && k == 0 && prev != null && !prev.isConsonant())
-						{
-							VowelProperty currClose = (VowelProperty) curr.properties[0];
-							VowelProperty prevClose = (VowelProperty) prev.properties[0];
-							
-							curr = (Vowel) curr;
-							if (prev.expression.equals("y"))
-								sb.append(((Vowel) curr).diaeresis);
-							else if (currClose.ordinal() > prevClose.ordinal() || curr == prev)
-								sb.append(((Vowel) curr).diaeresis);
-							else
-								sb.append(curr.expression);
-						}
-						
-						// 5. Add hyphens before post-initial 'ng' onsets
-						else if (j == 0 && curr.expression.equals("ng"))
-						{
-							sb.append("-");
-							sb.append(curr.expression);
-						}
-						else
-							sb.append(curr.expression);
-					}
-				}
-			}	
+			writeDefault(sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
 		defaultRep = sb.toString();
 	}
@@ -189,43 +123,12 @@ public class Name
 	 */
 	public void renderPlain()
 	{
-		Segment curr = null;
-		
 		StringBuilder sb = new StringBuilder();
-		for (int i = 0; i < syllables.size(); i++)
+		try
 		{
-			Syllable syl = syllables.get(i);
-			
-			for (int j = 0; j < 3; j++)
-			{
-				Constituent c = syl.constituents[j];
-				if (c != null)
-					for (int k = 0; k < c.content.length; k++)
-					{
-						curr = c.content[k].segment;
-				
-						// 1. Omit initial glottal stops
-						if (sb.length() == 0 && curr.expression.equals("'"))
-						{
-							
-						}
-						
-						// 2. Initial uppercase letter
-						else if (sb.length() == 0)
-						{
-							sb.append(curr.expression.substring(0,1).toUpperCase() + curr.expression.substring(1));
-						}
-						
-						// 2. Replace vowel lengtheners with a second of the corresponding vowel
-						else if (curr.expression.equals(":") && j > 0)
-						{
-							String prevChar = "" + sb.charAt(sb.length() - 1); 
-							sb.append(prevChar.toLowerCase());
-						}
-						else
-							sb.append(curr.expression);
-					}
-			}	
+			writePlain(sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
 		plain = sb.toString();
 	}
@@ -236,40 +139,27 @@ public class Name
 	 */
 	public void renderIPA()
 	{
-		Segment curr = null;
-		
 		StringBuilder sb = new StringBuilder();
-		sb.append("[");
-		
-		for (int i = 0; i < syllables.size(); i++)
+		try
 		{
-			Syllable syl = syllables.get(i);
-			
-			// 1. Indicate stress and syllable breaks
-			if (syl.stress == Stress.PRIMARY)
-				sb.append('ˈ');
-			else if (syl.stress == Stress.STRONG)
-				sb.append('ˌ');
-			else if (i > 0)
-				sb.append('.');
-	
-			for (int j = 0; j < 3; j++)
-			{
-				Constituent c = syl.constituents[j];
-				if (c != null)
-				{
-					for (int k = 0; k < c.content.length; k++)
-					{
-						curr = c.content[k].segment;
-						sb.append(curr.ipa);
-					}
-				}
-			}	
+			writeIPA(sb);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
 		}
-		
-		sb.append("]");
 		ipa = sb.toString();
 	}
+	
+	/**
+	 * Encodes this Name in a CompactName, which holds the same segments, syllables, stresses, and information
+	 * content in a fraction of the memory. The CompactName does not change if this Name is later modified.
+	 * 
+	 * @return	A compact encoding of this Name
+	 * @since	1.2
+	 */
+	public CompactName compact()
+	{
+		return CompactName.of(this);
+	}
 
 	/**
 	 * @return	The recommended representation of this Name, with symbols and diacritics to clarify pronunciation
@@ -304,6 +194,243 @@ public class Name
 		return ipa;
 	}
 	
+	/**
+	 * Appends the recommended representation of this Name to the given Appendable, such as a StringBuilder, Writer,
+	 * or CharBuffer. If the representation has already been rendered, it is copied; otherwise it is rendered
+	 * straight into the Appendable, without being saved or producing an intermediate String.
+	 * 
+	 * @param	out		The Appendable to which to append the representation
+	 * @throws	IOException	If the Appendable throws one
+	 * @since	1.2
+	 */
+	public void appendDefault(Appendable out) throws IOException
+	{
+		if (defaultRep != null)
+			out.append(defaultRep);
+		else
+			writeDefault(out);
+	}
+	
+	/**
+	 * Appends the plain representation of this Name to the given Appendable, rendering it if it has not been
+	 * rendered already.
+	 * 
+	 * @param	out		The Appendable to which to append the representation
+	 * @throws	IOException	If the Appendable throws one
+	 * @since	1.2
+	 */
+	public void appendPlain(Appendable out) throws IOException
+	{
+		if (plain != null)
+			out.append(plain);
+		else
+			writePlain(out);
+	}
+	
+	/**
+	 * Appends the IPA representation of this Name to the given Appendable, rendering it if it has not been
+	 * rendered already.
+	 * 
+	 * @param	out		The Appendable to which to append the representation
+	 * @throws	IOException	If the Appendable throws one
+	 * @since	1.2
+	 */
+	public void appendIPA(Appendable out) throws IOException
+	{
+		if (ipa != null)
+			out.append(ipa);
+		else
+			writeIPA(out);
+	}
+	
+	/**
+	 * Renders the Name with diacritics to mark stress and hiatus, and hyphens to disambiguate clusters, straight
+	 * from its syllables into the given Appendable. Only the length of the rendering so far and its last character
+	 * are needed by the rules, so they are kept in variables rather than read back from the Appendable.
+	 * 
+	 * @param	out		The Appendable to which to append the rendering
+	 * @throws	IOException	If the Appendable throws one
+	 * @since	1.2
+	 */
+	private void writeDefault(Appendable out) throws IOException
+	{
+		Segment prev, curr = null;
+		boolean empty = true;	// Whether nothing has been written yet
+		char last = 0;			// The last character written
+		
+		// Primary stress is only marked where it falls somewhere other than where a reader would expect
+		int n = syllables.size();
+		boolean penultimateHeavy = n >= 3 && syllables.get(n - 2).isHeavy();
+		
+		for (int i = 0; i < n; i++)
+		{
+			Syllable syl = syllables.get(i);
+	
+			for (int j = 0; j < 3; j++)
+			{
+				Constituent c = syl.constituents[j];
+				if (c == null)
+					continue;
+				
+				for (int k = 0; k < c.content.length; k++)
+				{
+					prev = curr;
+					curr = c.content[k].segment;
+					String s;
+					
+					// 1. Omit initial glottal stops
+					if (empty && curr.expression.equals("'"))
+						continue;
+					
+					// 2. Add acute accents to mark unexpected emphasis
+					else if (j == 1 && k == 0 && syl.stress == Stress.PRIMARY && 
+						!((n >= 3 && i == n - 3 && !penultimateHeavy) 
+								|| n >= 3 && i == n - 2 && penultimateHeavy
+								|| n == 2 && i == n - 2))
+						s = ((Vowel) curr).stress;
+					
+					// 2. Initial uppercase letter, below
+					else if (empty)
+						s = curr.expression;
+					
+					// 3. Replace vowel lengtheners with a second of the corresponding vowel
+					else if (curr.expression.equals(":") && j > 0)
+					{
+						last = Character.toLowerCase(last);
+						out.append(last);
+						continue;
+					}
+					
+					// 4. Add diaeresis for applicable hiatus
+					else if (j == 1 && k == 0 && prev != null && !prev.isConsonant())
+					{
+						VowelProperty currClose = (VowelProperty) curr.properties[0];
+						VowelProperty prevClose = (VowelProperty) prev.properties[0];
+						
+						if (prev.expression.equals("y"))
+							s = ((Vowel) curr).diaeresis;
+						else if (currClose.ordinal() > prevClose.ordinal() || curr == prev)
+							s = ((Vowel) curr).diaeresis;
+						else
+							s = curr.expression;
+					}
+					
+					// 5. Add hyphens before post-initial 'ng' onsets
+					else if (j == 0 && curr.expression.equals("ng"))
+					{
+						out.append('-');
+						s = curr.expression;
+					}
+					else
+						s = curr.expression;
+					
+					if (s.isEmpty())
+						continue;
+					if (empty)
+						appendCapitalized(out, s);
+					else
+						out.append(s);
+					empty = false;
+					last = s.charAt(s.length() - 1);
+				}
+			}	
+		}
+	}
+	
+	/**
+	 * Renders the Name without any diacritics or symbols (besides glottal stops) straight from its syllables into
+	 * the given Appendable.
+	 * 
+	 * @param	out		The Appendable to which to append the rendering
+	 * @throws	IOException	If the Appendable throws one
+	 * @since	1.2
+	 */
+	private void writePlain(Appendable out) throws IOException
+	{
+		boolean empty = true;	// Whether nothing has been written yet
+		char last = 0;			// The last character written
+		
+		for (Syllable syl : syllables)
+			for (int j = 0; j < 3; j++)
+			{
+				Constituent c = syl.constituents[j];
+				if (c == null)
+					continue;
+				
+				for (int k = 0; k < c.content.length; k++)
+				{
+					Segment curr = c.content[k].segment;
+					String s = curr.expression;
+					
+					// 1. Omit initial glottal stops
+					if (empty && s.equals("'"))
+						continue;
+					
+					// 2. Replace vowel lengtheners with a second of the corresponding vowel
+					if (!empty && s.equals(":") && j > 0)
+					{
+						last = Character.toLowerCase(last);
+						out.append(last);
+						continue;
+					}
+					
+					// 3. Initial uppercase letter
+					if (s.isEmpty())
+						continue;
+					if (empty)
+						appendCapitalized(out, s);
+					else
+						out.append(s);
+					empty = false;
+					last = s.charAt(s.length() - 1);
+				}
+			}
+	}
+	
+	/**
+	 * Renders the Name in IPA symbols straight from its syllables into the given Appendable.
+	 * 
+	 * @param	out		The Appendable to which to append the rendering
+	 * @throws	IOException	If the Appendable throws one
+	 * @since	1.2
+	 */
+	private void writeIPA(Appendable out) throws IOException
+	{
+		out.append('[');
+		
+		for (int i = 0; i < syllables.size(); i++)
+		{
+			Syllable syl = syllables.get(i);
+			
+			// 1. Indicate stress and syllable breaks
+			if (syl.stress == Stress.PRIMARY)
+				out.append('ˈ');
+			else if (syl.stress == Stress.STRONG)
+				out.append('ˌ');
+			else if (i > 0)
+				out.append('.');
+	
+			for (int j = 0; j < 3; j++)
+			{
+				Constituent c = syl.constituents[j];
+				if (c != null)
+					for (int k = 0; k < c.content.length; k++)
+						out.append(c.content[k].segment.ipa);
+			}	
+		}
+		
+		out.append(']');
+	}
+	
+	/**
+	 * Appends the given non-empty string with its first character in upper case.
+	 */
+	private static void appendCapitalized(Appendable out, String s) throws IOException
+	{
+		out.append(Character.toUpperCase(s.charAt(0)));
+		out.append(s, 1, s.length());
+	}
+	
 	/**
 	 * @return	A reference to the Phonology that generated this Name
 	 */
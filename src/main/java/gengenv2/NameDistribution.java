@@ -0,0 +1,273 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+/**
+ * The distribution of the number of syllables and the information content of a Phonology's names, computed from
+ * its inventories and the chances of its name assembly flowchart by carrying probability through the flowchart
+ * rather than by generating names.
+ * 
+ * Information content is resolved on a grid of points a fixed bin width apart. Each step of the flowchart adds
+ * the information content of its choice to the name's, and the probability of landing between two grid points is
+ * divided between them so that the mean is kept, so the mean is exact but for rounding, and quantiles are good to
+ * within a few bins. Names whose information content reaches the end of the grid are gathered in its last point,
+ * and reported by getTailProbability().
+ * 
+ * The syllable count distribution is exact up to the same grid, since the decision to add another syllable depends
+ * on the information content of the name so far. Names that fail to be completed, and names longer than the
+ * longest searched, make up the small remainder of the distribution.
+ * 
+ * @since	1.2
+ * @see		Phonology#computeDistribution()
+ */
+public final class NameDistribution
+{
+	/**
+	 * The bin width used by Phonology.computeDistribution(), in nats
+	 */
+	public static final double DEFAULT_BIN_WIDTH = 1.0 / 32;
+	
+	private final double binWidth;			// Distance between grid points of information content, in nats
+	private final double[] icMass;			// Probability of each grid point; the last also holds everything beyond
+	private final double[] syllableMass;	// Probability of each number of syllables
+	private final double failure;			// Probability that a name could not be completed
+	private final double residual;			// Probability of names longer than the longest searched
+	
+	/**
+	 * @param	binWidth		Distance between grid points of information content, in nats
+	 * @param	icMass			Probability of each grid point of information content
+	 * @param	syllableMass	Probability of each number of syllables, beginning with 0
+	 * @param	failure			Probability that a name could not be completed
+	 * @param	residual		Probability of names longer than the longest searched
+	 * @since	1.2
+	 */
+	NameDistribution(double binWidth, double[] icMass, double[] syllableMass, double failure, double residual)
+	{
+		this.binWidth = binWidth;
+		this.icMass = icMass;
+		this.syllableMass = syllableMass;
+		this.failure = failure;
+		this.residual = residual;
+	}
+	
+	/**
+	 * @return	The distance between grid points of information content, in nats
+	 * @since	1.2
+	 */
+	public double getBinWidth()
+	{
+		return binWidth;
+	}
+	
+	/**
+	 * @return	The greatest information content resolved; names beyond it are counted at it
+	 * @since	1.2
+	 */
+	public double getMaxInformationContent()
+	{
+		return (icMass.length - 1) * binWidth;
+	}
+	
+	/**
+	 * @param	syllables	A number of syllables
+	 * @return	The probability that a name has exactly that many syllables
+	 * @since	1.2
+	 */
+	public double getSyllableCountProbability(int syllables)
+	{
+		return (syllables >= 0 && syllables < syllableMass.length) ? syllableMass[syllables] : 0;
+	}
+	
+	/**
+	 * @return	The probability of each number of syllables, beginning with 0
+	 * @since	1.2
+	 */
+	public double[] getSyllableCountDistribution()
+	{
+		return syllableMass.clone();
+	}
+	
+	/**
+	 * @return	The greatest number of syllables with any probability
+	 * @since	1.2
+	 */
+	public int getMaxSyllableCount()
+	{
+		int max = syllableMass.length - 1;
+		while (max > 0 && syllableMass[max] == 0)
+			max--;
+		return max;
+	}
+	
+	/**
+	 * @return	The average number of syllables of a completed name
+	 * @since	1.2
+	 */
+	public double getMeanSyllableCount()
+	{
+		double sum = 0, mean = 0;
+		for (int i = 0; i < syllableMass.length; i++)
+		{
+			sum += syllableMass[i];
+			mean += i * syllableMass[i];
+		}
+		return mean / sum;
+	}
+	
+	/**
+	 * @param	ic	An information content, in nats
+	 * @return	The probability that a completed name's information content is no greater than that
+	 * @since	1.2
+	 */
+	public double getCumulativeProbability(double ic)
+	{
+		double sum = 0, below = 0;
+		for (int i = 0; i < icMass.length; i++)
+		{
+			sum += icMass[i];
+			if (i * binWidth <= ic)
+				below += icMass[i];
+		}
+		return below / sum;
+	}
+	
+	/**
+	 * @param	minIC	The least information content, in nats
+	 * @param	maxIC	The greatest information content, in nats
+	 * @return	The probability that a completed name's information content lies between the two
+	 * @since	1.2
+	 */
+	public double getProbability(double minIC, double maxIC)
+	{
+		double sum = 0, within = 0;
+		for (int i = 0; i < icMass.length; i++)
+		{
+			sum += icMass[i];
+			if (i * binWidth >= minIC && i * binWidth <= maxIC)
+				within += icMass[i];
+		}
+		return within / sum;
+	}
+	
+	/**
+	 * @param	q	A probability, between 0 and 1
+	 * @return	The least grid point of information content at or below which lies at least that fraction of
+	 * 			completed names
+	 * @since	1.2
+	 */
+	public double getQuantile(double q)
+	{
+		if (!(q >= 0 && q <= 1))
+			throw new IllegalArgumentException("Quantile must be between 0 and 1: " + q);
+		
+		double sum = 0;
+		for (double m : icMass)
+			sum += m;
+		
+		double below = 0;
+		for (int i = 0; i < icMass.length; i++)
+		{
+			below += icMass[i];
+			if (below >= q * sum)
+				return i * binWidth;
+		}
+		return getMaxInformationContent();
+	}
+	
+	/**
+	 * @return	The average information content of a completed name, in nats
+	 * @since	1.2
+	 */
+	public double getMeanInformationContent()
+	{
+		double sum = 0, mean = 0;
+		for (int i = 0; i < icMass.length; i++)
+		{
+			sum += icMass[i];
+			mean += i * binWidth * icMass[i];
+		}
+		return mean / sum;
+	}
+	
+	/**
+	 * @return	The standard deviation of the information content of a completed name, in nats
+	 * @since	1.2
+	 */
+	public double getInformationContentStdev()
+	{
+		double mean = getMeanInformationContent();
+		double sum = 0, variance = 0;
+		for (int i = 0; i < icMass.length; i++)
+		{
+			sum += icMass[i];
+			variance += (i * binWidth - mean) * (i * binWidth - mean) * icMass[i];
+		}
+		return Math.sqrt(variance / sum);
+	}
+	
+	/**
+	 * @return	The probability of each grid point of information content, the i-th being i times the bin width
+	 * @since	1.2
+	 */
+	public double[] getInformationContentDistribution()
+	{
+		return icMass.clone();
+	}
+	
+	/**
+	 * @return	The probability that a completed name's information content reaches the end of the grid
+	 * @since	1.2
+	 */
+	public double getTailProbability()
+	{
+		double sum = 0;
+		for (double m : icMass)
+			sum += m;
+		return icMass[icMass.length - 1] / sum;
+	}
+	
+	/**
+	 * @return	The probability that a name cannot be completed, and so fails
+	 * @since	1.2
+	 */
+	public double getFailureProbability()
+	{
+		return failure;
+	}
+	
+	/**
+	 * @return	The probability of names with more syllables than were searched, which are left out of the
+	 * 			distribution
+	 * @since	1.2
+	 */
+	public double getResidualProbability()
+	{
+		return residual;
+	}
+	
+	@Override
+	public String toString()
+	{
+		return String.format("NameDistribution[syllables mean %.3f max %d, information content mean %.3f stdev %.3f, "
+				+ "median %.3f, failure %.3g, residual %.3g]", getMeanSyllableCount(), getMaxSyllableCount(),
+				getMeanInformationContent(), getInformationContentStdev(), getQuantile(0.5), failure, residual);
+	}
+}
@@ -0,0 +1,472 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes large numbers of names from one or more Phonologies to a file.
+ * 
+ * The work is split between a pool of generator threads and a single writer, the thread that calls export(). The
+ * names of each Phonology are cut into the same blocks of NameSpliterator.BLOCK_SIZE names as Phonology.names(),
+ * and each block is generated and encoded into a ByteBuffer by a generator thread. The writer hands out blocks,
+ * keeping a bounded number in progress so that memory use does not depend on the number of names, and writes the
+ * finished buffers to the file in order. The file is therefore the same whatever the number of threads, and the
+ * names of each Phonology are the same as those of Phonology.names(long).
+ * 
+ * @since	1.2
+ */
+public final class NameExporter
+{
+	/**
+	 * The layout of an exported file.
+	 * @since	1.2
+	 */
+	public enum Format
+	{
+		/**
+		 * One name per line, in its plain representation.
+		 */
+		LINES,
+		
+		/**
+		 * A header line, then one line per name, with tab-separated columns for its plain, default, and IPA
+		 * representations, information content, and number of syllables.
+		 */
+		TSV,
+		
+		/**
+		 * A four-byte magic number ("GGNM") and two-byte version number, followed by any number of blocks. Each
+		 * block is the seed of its Phonology (a long) and its number of names (an int), followed by that many
+		 * names, each as an unsigned short length, that many bytes of CompactName encoding, and a double for its
+		 * information content. All numbers are big-endian.
+		 */
+		BINARY;
+	}
+	
+	/**
+	 * The compression applied to an exported file.
+	 * @since	1.2
+	 */
+	public enum Compression
+	{
+		/** No compression */
+		NONE,
+		
+		/** The gzip file format */
+		GZIP,
+		
+		/** A zlib-wrapped deflate stream */
+		DEFLATE;
+	}
+	
+	static final int MAGIC = 0x47474E4D;	// "GGNM"
+	static final short VERSION = 1;
+	
+	private static final String TSV_HEADER = "plain\tdefault\tipa\tinformation_content\tsyllables\n";
+	private static final int COMPRESSION_BUFFER = 1 << 16;
+	
+	private final Format format;
+	private final Compression compression;
+	private final int threads;
+	
+	/**
+	 * Creates an exporter for the given format and compression, generating names on the given number of threads.
+	 * 
+	 * @param	format		The layout of the exported file
+	 * @param	compression	The compression applied to the exported file
+	 * @param	threads		The number of generator threads, at least 1
+	 * @since	1.2
+	 */
+	public NameExporter(Format format, Compression compression, int threads)
+	{
+		if (format == null)
+			throw new NullPointerException("format");
+		if (compression == null)
+			throw new NullPointerException("compression");
+		if (threads < 1)
+			throw new IllegalArgumentException("Thread count must be positive: " + threads);
+		
+		this.format = format;
+		this.compression = compression;
+		this.threads = threads;
+	}
+	
+	/**
+	 * Builds a Phonology from each of the given seeds and writes the given number of names from each, in the order
+	 * of the seeds, to the given file, which is replaced if it already exists. A seed whose Phonology fails to build
+	 * is left out of the file and listed in the returned Summary.
+	 * 
+	 * @param	seeds			The seeds of the Phonologies whose names to export
+	 * @param	namesPerSeed	The number of names to write for each seed
+	 * @param	path			The file to write
+	 * @return	A summary of what was written
+	 * @throws	IOException	If the file cannot be written
+	 * @since	1.2
+	 */
+	public Summary export(long[] seeds, long namesPerSeed, Path path) throws IOException
+	{
+		if (namesPerSeed < 0)
+			throw new IllegalArgumentException("Number of names must be non-negative: " + namesPerSeed);
+		
+		ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "name-exporter");
+			t.setDaemon(true);
+			return t;
+		});
+		
+		// A DeflaterOutputStream given its own Deflater does not end it on closing, so it is ended here
+		Deflater deflater = null;
+		try (FileChannel file = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING))
+		{
+			OutputStream compressor = null;
+			WritableByteChannel out = file;
+			if (compression == Compression.GZIP)
+				compressor = new GZIPOutputStream(Channels.newOutputStream(file), COMPRESSION_BUFFER);
+			else if (compression == Compression.DEFLATE)
+			{
+				deflater = new Deflater();
+				compressor = new DeflaterOutputStream(Channels.newOutputStream(file), deflater, COMPRESSION_BUFFER);
+			}
+			if (compressor != null)
+				out = Channels.newChannel(compressor);
+			
+			Summary summary = write(seeds, namesPerSeed, pool, out);
+			
+			if (compressor != null)
+				compressor.close();
+			return summary;
+		}
+		finally
+		{
+			if (deflater != null)
+				deflater.end();
+			pool.shutdownNow();
+		}
+	}
+	
+	/**
+	 * Hands out blocks of names to the pool and writes the results in order. At most twice as many blocks as there
+	 * are threads are in progress at once, so that the threads always have work while the writer is busy, but do
+	 * not run arbitrarily far ahead of it.
+	 */
+	private Summary write(long[] seeds, long namesPerSeed, ExecutorService pool, WritableByteChannel out)
+			throws IOException
+	{
+		long blocksPerSeed = (namesPerSeed + NameSpliterator.BLOCK_SIZE - 1) / NameSpliterator.BLOCK_SIZE;
+		int window = 2 * threads;
+		
+		ArrayDeque<FutureTask<Block>> inProgress = new ArrayDeque<FutureTask<Block>>(window);
+		List<Long> failedSeeds = new ArrayList<Long>();
+		long names = 0, bytes = 0;
+		
+		if (format == Format.TSV)
+			bytes += writeFully(out, ByteBuffer.wrap(TSV_HEADER.getBytes(StandardCharsets.UTF_8)));
+		else if (format == Format.BINARY)
+			bytes += writeFully(out, ByteBuffer.allocate(6).putInt(MAGIC).putShort(VERSION).flip());
+		
+		int seedIndex = 0;
+		long block = 0;
+		Source source = null;
+		
+		try
+		{
+			for (;;)
+			{
+				// Top up the pipeline
+				while (inProgress.size() < window && seedIndex < seeds.length)
+				{
+					if (block == blocksPerSeed)
+					{
+						block = 0;
+						source = null;
+						if (++seedIndex == seeds.length)
+							break;
+					}
+					
+					if (source == null)
+						source = new Source(seeds[seedIndex]);
+					
+					long origin = block * NameSpliterator.BLOCK_SIZE;
+					int count = (int) Math.min(NameSpliterator.BLOCK_SIZE, namesPerSeed - origin);
+					Source s = source;
+					long b = block;
+					FutureTask<Block> task = new FutureTask<Block>(() -> encode(s, b, count));
+					pool.execute(task);
+					inProgress.add(task);
+					block++;
+				}
+				
+				FutureTask<Block> task = inProgress.poll();
+				if (task == null)
+					break;
+				
+				Block result = task.get();
+				if (result.failed)
+				{
+					if (result.index == 0)
+						failedSeeds.add(result.seed);
+					continue;
+				}
+				
+				names += result.names;
+				bytes += writeFully(out, result.buffer);
+			}
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while exporting names", e);
+		}
+		catch (ExecutionException e)
+		{
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw (Error) e.getCause();
+		}
+		
+		return new Summary(names, bytes, failedSeeds);
+	}
+	
+	/**
+	 * Writes the whole of the given buffer to the given channel.
+	 * @return	The number of bytes written
+	 */
+	private static int writeFully(WritableByteChannel out, ByteBuffer buffer) throws IOException
+	{
+		int length = buffer.remaining();
+		while (buffer.hasRemaining())
+			out.write(buffer);
+		return length;
+	}
+	
+	/**
+	 * Generates one block of names and encodes it in this exporter's format. Runs on a generator thread.
+	 * 
+	 * @param	source	The seed and Phonology of the block
+	 * @param	index	The index of the block among those of its Phonology
+	 * @param	count	The number of names in the block
+	 * @return	The encoded block, or a failed block if the Phonology could not be built
+	 */
+	private Block encode(Source source, long index, int count)
+	{
+		Phonology p = source.get();
+		if (p == null)
+			return new Block(source.seed, index);
+		
+		NameGenerator generator = p.newGenerator(index);
+		CompactName[] names = new CompactName[count];
+		int n = 0;
+		for (int i = 0; i < count; i++)
+		{
+			Name name = generator.makeName();
+			if (name != null)
+				names[n++] = name.compact();
+		}
+		
+		ByteBuffer buffer;
+		if (format == Format.BINARY)
+		{
+			int size = 8 + 4;
+			for (int i = 0; i < n; i++)
+				size += names[i].serializedSize();
+			
+			buffer = ByteBuffer.allocate(size);
+			buffer.putLong(source.seed).putInt(n);
+			for (int i = 0; i < n; i++)
+				names[i].write(buffer);
+			buffer.flip();
+		}
+		else
+		{
+			StringBuilder sb = new StringBuilder(n * (format == Format.TSV ? 48 : 10));
+			for (int i = 0; i < n; i++)
+			{
+				CompactName name = names[i];
+				name.appendPlain(sb);
+				if (format == Format.TSV)
+				{
+					name.appendDefault(sb.append('\t'));
+					name.appendIPA(sb.append('\t'));
+					appendFixed(sb.append('\t'), name.getInformationContent());
+					sb.append('\t').append(name.getSyllableCount());
+				}
+				sb.append('\n');
+			}
+			buffer = StandardCharsets.UTF_8.encode(CharBuffer.wrap(sb));
+		}
+		
+		return new Block(source.seed, index, n, buffer);
+	}
+	
+	/**
+	 * Appends a non-negative number rounded to three decimal places, as by printf's "%.3f", but without the cost of
+	 * parsing a format string for every name.
+	 */
+	private static void appendFixed(StringBuilder sb, double value)
+	{
+		long thousandths = Math.round(value * 1000);
+		long fraction = thousandths % 1000;
+		sb.append(thousandths / 1000).append('.');
+		if (fraction < 100)
+			sb.append('0');
+		if (fraction < 10)
+			sb.append('0');
+		sb.append(fraction);
+	}
+	
+	/**
+	 * A seed whose Phonology is built by whichever generator thread first needs it. Later blocks of the same seed
+	 * wait for that thread to finish rather than building the Phonology again.
+	 */
+	private static final class Source
+	{
+		final long seed;
+		private final FutureTask<Phonology> phonology;
+		
+		Source(long seed)
+		{
+			this.seed = seed;
+			this.phonology = new FutureTask<Phonology>(() -> new Phonology(seed));
+		}
+		
+		/**
+		 * @return	The Phonology for this seed, or null if it could not be built
+		 */
+		Phonology get()
+		{
+			// Does nothing if another thread has already started building the Phonology
+			phonology.run();
+			
+			try
+			{
+				return phonology.get();
+			}
+			catch (ExecutionException e)
+			{
+				if (e.getCause() instanceof RuntimeException)
+					return null;
+				throw (Error) e.getCause();
+			}
+			catch (InterruptedException e)
+			{
+				Thread.currentThread().interrupt();
+				return null;
+			}
+		}
+	}
+	
+	/**
+	 * One block of names, encoded and ready to be written.
+	 */
+	private static final class Block
+	{
+		final long seed;			// The seed of the block's Phonology
+		final long index;			// The index of the block among those of its Phonology
+		final boolean failed;		// Whether the block's Phonology failed to build
+		final int names;			// The number of names in the block
+		final ByteBuffer buffer;	// The encoded names
+		
+		Block(long seed, long index, int names, ByteBuffer buffer)
+		{
+			this.seed = seed;
+			this.index = index;
+			this.failed = false;
+			this.names = names;
+			this.buffer = buffer;
+		}
+		
+		Block(long seed, long index)
+		{
+			this.seed = seed;
+			this.index = index;
+			this.failed = true;
+			this.names = 0;
+			this.buffer = null;
+		}
+	}
+	
+	/**
+	 * What an export wrote.
+	 * @since	1.2
+	 */
+	public static final class Summary
+	{
+		private final long names;
+		private final long bytes;
+		private final List<Long> failedSeeds;
+		
+		Summary(long names, long bytes, List<Long> failedSeeds)
+		{
+			this.names = names;
+			this.bytes = bytes;
+			this.failedSeeds = Collections.unmodifiableList(failedSeeds);
+		}
+		
+		/**
+		 * @return	The number of names written
+		 * @since	1.2
+		 */
+		public long getNames()
+		{
+			return names;
+		}
+		
+		/**
+		 * @return	The number of bytes written, before compression
+		 * @since	1.2
+		 */
+		public long getBytes()
+		{
+			return bytes;
+		}
+		
+		/**
+		 * @return	The seeds whose Phonologies failed to build, and whose names were therefore left out
+		 * @since	1.2
+		 */
+		public List<Long> getFailedSeeds()
+		{
+			return failedSeeds;
+		}
+	}
+}
@@ -0,0 +1,123 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+package gengenv2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A source of names from a single Phonology, drawing on its own random number stream. Each generator's stream is
+ * derived deterministically from the Phonology's seed and the generator's stream index, so a generator always
+ * produces the same sequence of names for the same Phonology and index.
+ * 
+ * A NameGenerator is not itself thread-safe, but it shares no mutable state with its Phonology or with other
+ * generators; to generate reproducible names from one Phonology on several threads at once, give each thread its
+ * own generator.
+ * 
+ * @since	1.2
+ */
+public class NameGenerator
+{
+	private final Phonology phonology;			// The Phonology whose names this generator produces
+	private final long stream;					// Index of this generator's random number stream
+	private final Random rng;					// This generator's random number stream
+	
+	/**
+	 * Creates a generator for the given Phonology and stream index.
+	 * 
+	 * @param	p		The Phonology whose names to generate
+	 * @param	stream	The index of the random number stream
+	 * @since	1.2
+	 */
+	NameGenerator(Phonology p, long stream)
+	{
+		this.phonology = p;
+		this.stream = stream;
+		rng = new Random(Phonology.deriveSeed(p.getSeed(), stream));
+	}
+	
+	/**
+	 * Generates and returns the next name in this generator's stream, handling failures according to the
+	 * Phonology's FailurePolicy.
+	 * @return	The generated Name, or null if it failed under the SKIP policy
+	 * @since	1.2
+	 */
+	public Name makeName()
+	{
+		return phonology.nameAssembly.makeName(rng);
+	}
+	
+	/**
+	 * Generates and returns the next name in this generator's stream whose information content lies between the
+	 * given bounds, as for Phonology.makeName(double, double).
+	 * 
+	 * @param	minIC	The least information content allowed
+	 * @param	maxIC	The greatest information content allowed
+	 * @return	The generated Name, or null if it failed under the SKIP policy
+	 * @throws	IllegalArgumentException	If minIC is greater than maxIC, or either is NaN
+	 * @throws	GenerationException	If no name was found within the band under the FAIL_FAST or RETRY policies
+	 * @since	1.2
+	 */
+	public Name makeName(double minIC, double maxIC)
+	{
+		return phonology.nameAssembly.makeName(rng, minIC, maxIC);
+	}
+	
+	/**
+	 * Generates and returns a list of the next names in this generator's stream. Names that fail under the SKIP
+	 * policy are left out, so the list may be shorter than requested.
+	 * 
+	 * @param	number	The number of names to generate
+	 * @return	A List of Names, in the order they were generated
+	 * @since	1.2
+	 */
+	public List<Name> makeNames(int number)
+	{
+		ArrayList<Name> names = new ArrayList<Name>(number);
+		
+		for (int i = 0; i < number; i++)
+		{
+			Name name = phonology.nameAssembly.makeName(rng);
+			if (name != null)
+				names.add(name);
+		}
+		
+		return names;
+	}
+	
+	/**
+	 * @return	The Phonology whose names this generator produces
+	 * @since	1.2
+	 */
+	public Phonology getPhonology()
+	{
+		return phonology;
+	}
+	
+	/**
+	 * @return	The index of this generator's random number stream
+	 * @since	1.2
+	 */
+	public long getStream()
+	{
+		return stream;
+	}
+}
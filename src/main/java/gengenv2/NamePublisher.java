@@ -0,0 +1,297 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A Publisher of names from a Phonology, which generates names only as fast as each Subscriber asks for them. A
+ * consumer such as an exporter can thus pass any number of names through to a file or socket while holding only
+ * a handful in memory at once.
+ * 
+ * Every Subscriber receives the same sequence of names, the same as that of Phonology.names(), and names are
+ * generated on the publisher's executor, never on the thread that requests them. A Subscriber whose names run
+ * out is sent onComplete(); one whose name fails to generate under the FAIL_FAST or RETRY policies is sent
+ * onError() with the GenerationException.
+ * 
+ * @since	1.2
+ */
+public final class NamePublisher implements Flow.Publisher<Name>
+{
+	private static final int BATCH_SIZE = NameSpliterator.BLOCK_SIZE;	// Most names sent in one task before yielding the thread
+	
+	private final Phonology phonology;	// The Phonology whose names are published
+	private final long number;			// Number of names sent to each Subscriber
+	private final Executor executor;	// Executor on which names are generated and sent
+	
+	/**
+	 * Creates a publisher of the given number of names, generated on the common fork-join pool.
+	 * 
+	 * @param	p		The Phonology whose names to publish
+	 * @param	number	The number of names each Subscriber receives, or Phonology.UNBOUNDED for no limit
+	 * @since	1.2
+	 */
+	public NamePublisher(Phonology p, long number)
+	{
+		this(p, number, ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Creates a publisher of the given number of names, generated on the given executor.
+	 * 
+	 * @param	p			The Phonology whose names to publish
+	 * @param	number		The number of names each Subscriber receives, or Phonology.UNBOUNDED for no limit
+	 * @param	executor	The executor on which names are generated and sent
+	 * @since	1.2
+	 */
+	public NamePublisher(Phonology p, long number, Executor executor)
+	{
+		if (p == null)
+			throw new NullPointerException("phonology");
+		if (executor == null)
+			throw new NullPointerException("executor");
+		if (number < 0)
+			throw new IllegalArgumentException("Number of names must be non-negative: " + number);
+		
+		this.phonology = p;
+		this.number = number;
+		this.executor = executor;
+	}
+	
+	/**
+	 * Adds a Subscriber, who receives names starting from the first in the sequence, as it requests them.
+	 * 
+	 * @param	subscriber	The Subscriber to receive names
+	 * @since	1.2
+	 */
+	public void subscribe(Flow.Subscriber<? super Name> subscriber)
+	{
+		if (subscriber == null)
+			throw new NullPointerException("subscriber");
+		
+		NameSubscription subscription = new NameSubscription(subscriber);
+		subscriber.onSubscribe(subscription);
+		
+		// Complete at once if there are no names to send, without waiting for a request
+		subscription.schedule();
+	}
+	
+	/**
+	 * A single Subscriber's position in the sequence of names, along with the number of names it has requested but
+	 * not yet received.
+	 * 
+	 * Requests may arrive on any thread, including from within onNext(), so names are sent by a single drain task
+	 * at a time: a request only starts a new task if none is already running, and otherwise just leaves a note
+	 * in wip that the running task should look at the demand again before it finishes.
+	 * 
+	 * @since	1.2
+	 */
+	private final class NameSubscription implements Flow.Subscription, Runnable
+	{
+		private final Flow.Subscriber<? super Name> subscriber;
+		private final NameSpliterator names;				// Source of this Subscriber's names
+		private final AtomicLong demand = new AtomicLong();	// Names requested but not yet sent
+		private final AtomicInteger wip = new AtomicInteger();	// Number of pending calls to schedule()
+		private volatile boolean cancelled;					// Whether no more signals may be sent
+		private volatile Throwable error;					// An error to send in place of further names
+		private Name next;									// The name just generated, not yet sent
+		
+		NameSubscription(Flow.Subscriber<? super Name> subscriber)
+		{
+			this.subscriber = subscriber;
+			this.names = new NameSpliterator(phonology, 0, number);
+		}
+		
+		/**
+		 * Adds to the number of names requested. A non-positive request cancels the subscription with an
+		 * IllegalArgumentException, as required by the Reactive Streams specification.
+		 * @since	1.2
+		 */
+		public void request(long n)
+		{
+			if (n <= 0)
+				error = new IllegalArgumentException("Non-positive request: " + n);
+			else
+			{
+				// Add n to the demand, saturating at Long.MAX_VALUE, which stands for unlimited demand
+				long current, updated;
+				do
+				{
+					current = demand.get();
+					updated = current + n;
+					if (updated < 0)
+						updated = Long.MAX_VALUE;
+				}
+				while (!demand.compareAndSet(current, updated));
+			}
+			
+			schedule();
+		}
+		
+		/**
+		 * Stops sending names. Names already being generated may still be sent.
+		 * @since	1.2
+		 */
+		public void cancel()
+		{
+			cancelled = true;
+		}
+		
+		/**
+		 * Starts a drain task, unless one is already running, in which case it is told to check again.
+		 * @since	1.2
+		 */
+		void schedule()
+		{
+			if (wip.getAndIncrement() != 0)
+				return;
+			
+			try
+			{
+				executor.execute(this);
+			}
+			catch (RejectedExecutionException e)
+			{
+				fail(e);
+			}
+		}
+		
+		/**
+		 * Sends names until the demand or the names run out, or until BATCH_SIZE names have been sent, in which
+		 * case the rest are left to a new task so as not to hold up other work on the executor.
+		 * @since	1.2
+		 */
+		public void run()
+		{
+			int missed = 1;
+			int batch = 0;
+			
+			for (;;)
+			{
+				long requested = demand.get();
+				long emitted = 0;
+				
+				while (!cancelled)
+				{
+					if (error != null)
+					{
+						fail(error);
+						return;
+					}
+					if (names.estimateSize() == 0)
+					{
+						complete();
+						return;
+					}
+					if (emitted == requested)
+						break;
+					if (batch == BATCH_SIZE)
+					{
+						// Yield the thread, leaving wip untouched so that no other task can start meanwhile
+						if (requested != Long.MAX_VALUE)
+							demand.addAndGet(-emitted);
+						try
+						{
+							executor.execute(this);
+						}
+						catch (RejectedExecutionException e)
+						{
+							fail(e);
+						}
+						return;
+					}
+					
+					// Generate the name apart from sending it, so that only generation errors are sent to the
+					// Subscriber
+					boolean generated;
+					try
+					{
+						generated = names.tryAdvance(name -> next = name);
+					}
+					catch (RuntimeException e)
+					{
+						fail(e);
+						return;
+					}
+					
+					// Under the SKIP policy, the last names may all fail, which leaves nothing more to send
+					if (!generated)
+					{
+						complete();
+						return;
+					}
+					
+					// A Subscriber that throws from onNext() has broken the contract, and may not be sent onError()
+					// (Reactive Streams rule 2.13), so the subscription is simply cancelled
+					Name name = next;
+					next = null;
+					try
+					{
+						subscriber.onNext(name);
+					}
+					catch (RuntimeException e)
+					{
+						cancelled = true;
+						return;
+					}
+					
+					emitted++;
+					batch++;
+				}
+				
+				if (cancelled)
+					return;
+				
+				if (requested != Long.MAX_VALUE)
+					demand.addAndGet(-emitted);
+				
+				missed = wip.addAndGet(-missed);
+				if (missed == 0)
+					return;
+			}
+		}
+		
+		/**
+		 * Cancels the subscription and tells the Subscriber that no names remain.
+		 * @since	1.2
+		 */
+		private void complete()
+		{
+			cancelled = true;
+			subscriber.onComplete();
+		}
+		
+		/**
+		 * Cancels the subscription and sends the given error.
+		 * @since	1.2
+		 */
+		private void fail(Throwable e)
+		{
+			cancelled = true;
+			subscriber.onError(e);
+		}
+	}
+}
@@ -0,0 +1,127 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+package gengenv2;
+
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A Spliterator over a fixed number of names from a Phonology, for use in (possibly parallel) Streams. A fence of
+ * Phonology.UNBOUNDED makes the number of names unlimited.
+ * 
+ * The names are divided into consecutive blocks of BLOCK_SIZE, and each block is generated by its own NameGenerator,
+ * whose stream index is the block's index. Splits only ever fall on block boundaries, so the i-th name is always the 
+ * same regardless of how the work was divided or how many threads took part: the output depends only on the
+ * Phonology's seed and the number of names requested.
+ * 
+ * @since	1.2
+ */
+class NameSpliterator implements Spliterator<Name>
+{
+	static final int BLOCK_SIZE = 4096;	// Number of names generated by each stream
+	
+	private final Phonology phonology;	// The Phonology whose names are produced
+	private long index;					// Index of the next name to be produced
+	private final long fence;			// One past the index of the last name to be produced
+	private NameGenerator generator;	// Generator for the block containing index, or null if not yet created
+	
+	/**
+	 * Creates a Spliterator over the names with indices in [origin, fence).
+	 * 
+	 * @param	p		The Phonology whose names are produced
+	 * @param	origin	The index of the first name, which must lie on a block boundary
+	 * @param	fence	One past the index of the last name
+	 * @since	1.2
+	 */
+	NameSpliterator(Phonology p, long origin, long fence)
+	{
+		this.phonology = p;
+		this.index = origin;
+		this.fence = fence;
+	}
+	
+	/**
+	 * Produces the next name, if any remain, and hands it to the given action. Names that fail under the SKIP
+	 * policy are passed over, though they still use up their indices.
+	 * @since	1.2
+	 */
+	public boolean tryAdvance(Consumer<? super Name> action)
+	{
+		while (index < fence)
+		{
+			// Switch to a new stream at the start of each block
+			if (generator == null || index % BLOCK_SIZE == 0)
+				generator = phonology.newGenerator(index / BLOCK_SIZE);
+			
+			index++;
+			Name name = generator.makeName();
+			if (name != null)
+			{
+				action.accept(name);
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Splits off the first half of the remaining blocks, leaving this Spliterator with the second half. Returns null
+	 * if fewer than two blocks remain, or if this Spliterator has already begun producing names.
+	 * @since	1.2
+	 */
+	public Spliterator<Name> trySplit()
+	{
+		if (generator != null)
+			return null;
+		
+		long firstBlock = index / BLOCK_SIZE;
+		long lastBlock = (fence - 1) / BLOCK_SIZE;
+		if (lastBlock - firstBlock < 1)
+			return null;
+		
+		long mid = (firstBlock + (lastBlock - firstBlock + 1) / 2) * BLOCK_SIZE;
+		Spliterator<Name> prefix = new NameSpliterator(phonology, index, mid);
+		index = mid;
+		return prefix;
+	}
+	
+	/**
+	 * @return	The number of names remaining, which is exact unless names may be skipped, in which case it is an
+	 * 			upper bound
+	 * @since	1.2
+	 */
+	public long estimateSize()
+	{
+		return Math.max(fence - index, 0);
+	}
+	
+	/**
+	 * @return	The characteristics of this Spliterator: its names are ordered, non-null, and of known number
+	 * 			unless the Spliterator is unbounded or the Phonology's FailurePolicy is SKIP
+	 * @since	1.2
+	 */
+	public int characteristics()
+	{
+		if (fence == Phonology.UNBOUNDED || phonology.getFailurePolicy() == FailurePolicy.SKIP)
+			return ORDERED | NONNULL | IMMUTABLE;
+		return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+	}
+}
@@ -19,12 +19,20 @@
 
 package gengenv2;
 
-import java.io.OutputStream;
-import java.io.PrintStream;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.math3.distribution.LogNormalDistribution;
 
@@ -111,6 +119,16 @@ public class Phonology
 	protected ArrayList<Constituent>[] nuclei;
 	protected ArrayList<Constituent>[] codas;	
 	
+	/*
+	 * Syllable segment sampling tables
+	 * 
+	 * Alias tables mirroring each of the syllable segment inventories above, built once the inventories are
+	 * final. These allow a syllable segment to be drawn in constant time, however large the inventory.
+	 */
+	protected AliasTable[] onsetTables;
+	protected AliasTable[] nucleusTables;
+	protected AliasTable[] codaTables;
+	
 	/*
 	 * Syllable segment length limits
 	 * 
@@ -182,13 +200,20 @@ public class Phonology
 	 * are present in a language (this can't be done just by consulting their prominences as categories with 
 	 * negative prominence may still be present), while the valid___Transitions arrays dictate the phonotactic
 	 * categories of which different phonemes might follow each other within clusters.
+	 * 
+	 * The transitions and category members are kept as bitmasks: bit j of valid___Transitions[i] is set if a
+	 * phoneme of category j may follow one of category i, and bit j of ___CategoryMembers[i] is set if the jth
+	 * phoneme of the inventory belongs to category i. Clusters are enumerated by walking these bits in order.
 	 */
 	private boolean[] consonantCategoriesRepresented;
 	private boolean[] vowelCategoriesRepresented;
 	
-	private boolean[][] validOnsetTransitions;
-	private boolean[][] validNucleusTransitions;
-	private boolean[][] validCodaTransitions;
+	private long[] consonantCategoryMembers;
+	private long[] vowelCategoryMembers;
+	
+	private long[] validOnsetTransitions;
+	private long[] validNucleusTransitions;
+	private long[] validCodaTransitions;
 
 	/*
 	 * Base occurrence chances
@@ -220,59 +245,10 @@ public class Phonology
 	/*
 	 * Generator properties
 	 * 
-	 * These static variables are properties of the generate itself and are used to determine the values of
-	 * different features within a language that have a random component to them. Most of them represent the
-	 * mean and standard deviation values for Gaussian random numbers.
-	 */
-	
-	// Prominence means/stdevs
-	static double prominenceStdev					= 0.60;
-	static double vowelProminenceStdev 				= 0.50;
-	static double emptyInitialOnsetProminenceMean   = 0.3;
-	static double emptyInitialOnsetProminenceStdev  = 0.15;
-	static double onsetClusterProminenceMean	 	= 0.1;
-	static double onsetClusterProminenceStdev 		= 0.05;
-	static double clusterLeadStdev    				= 0.50;
-	static double clusterFollowStdev  				= 0.50;
-	static double nucleusLeadStdev  				= 0.50;
-	static double nucleusFollowStdev 				= 0.50;
-
-	// Bounding values
-	static double minimumOnsetClusterProminence		= 0.01; 
-	static double minimumNucleusClusterProminence	= 0.01;
-	static double minimumCodaClusterProminence		= 0.01;
-	
-	// Offset means/stdevs
-	static double codaOffsetMean					= 0.4;
-	static double codaOffsetStdev					= 0.4;
-	static double onsetNgOffsetMean					= 2;
-	static double onsetNgOffsetStdev				= 1;
-	static double onsetTlDlOffsetMean				= 1;
-	static double onsetTlDlOffsetStdev				= 0.5;
-	static double codaGlottalStopOffsetMean			= 2;
-	static double codaGlottalStopOffsetStdev			= 1;
-	static double nasalDissonanceOffsetMean			= 2;
-	static double nasalDissonanceOffsetStdev		= 1;
-	static double unequalVoicingOffsetMean			= 1.25;
-	static double unequalVoicingOffsetStdev			= 0.5;
-	static double hiatusOffsetStdev					= 0.15;
-	static double interludeOffsetStdev				= 0.15;
-	
-	// Base occurence chance means/stdevs 
-	static double strongHeavyRimeChanceMean			= 0.8;
-	static double strongHeavyRimeChanceStdev		= 0.2;
-	static double weakHeavyRimeChanceMean			= 0.3;
-	static double weakHeavyRimeChanceStdev			= 0.15;
-	static double baseCodaChanceMean				= -0.5;
-	static double baseCodaChanceStdev				= 0.5;
-	static double codaLocationBalanceMean			= 0.4;
-	static double codaLocationBalanceStdev			= 0.33;
-	static double baseOnsetChanceMean				= 0;
-	static double baseOnsetChanceStdev				= 0.1;
-	static double baseOnsetChanceOffset				= 0.8;
-	
-	// Name assembly properties
-	static double heavyRimeSuppressionFactor		= 1.5;
+	 * The tuning parameters from which the features of this Phonology were drawn. These are only consulted while
+	 * the Phonology is being constructed, and are null in a Phonology restored from a snapshot.
+	 */
+	private final PhonologyConfig config;
 	
 	/*
 	 * Statistical data
@@ -296,14 +272,43 @@ public class Phonology
 	static final int HEAVY_RIMES				= 10;
 	
 	/**
-	 * Sets the rng to a specified seed before calling constructPhonology to set up the Phonology.
+	 * The index of the random number stream from which a Phonology's stress rules are drawn. Name generators use
+	 * streams numbered from 0, so negative indices are reserved for construction.
+	 * @since	1.2
+	 */
+	static final long STRESS_RULES_STREAM = -1;
+	
+	/**
+	 * A number of names standing for no limit at all, for use with names(long) and publisher(long).
+	 * @since	1.2
+	 */
+	public static final long UNBOUNDED = Long.MAX_VALUE;
+	
+	/**
+	 * Sets the rng to a specified seed before calling constructPhonology to set up the Phonology, with the
+	 * default tuning parameters.
 	 * @param	seed	The seed to be used for the random number generator
 	 * @since	1.0
 	 */
 	public Phonology(long seed)
 	{
+		this(seed, PhonologyConfig.DEFAULT);
+	}
+	
+	/**
+	 * Sets the rng to a specified seed before calling constructPhonology to set up the Phonology.
+	 * @param	seed	The seed to be used for the random number generator
+	 * @param	config	The tuning parameters from which the Phonology's features are drawn
+	 * @since	1.2
+	 */
+	public Phonology(long seed, PhonologyConfig config)
+	{
+		if (config == null)
+			throw new NullPointerException("config");
+		
 		rng = new Random(seed);
 		this.seed = seed;
+		this.config = config;
 		
 		// Commence generation
 		constructPhonology();
@@ -318,6 +323,25 @@ public class Phonology
 		this(new Random().nextLong());
 	}
 	
+	/**
+	 * Restores a Phonology from a snapshot, without repeating any of the work of constructPhonology. Everything
+	 * the snapshot records is read back as-is; the name assembly flowchart and the sampling tables, which are
+	 * derived deterministically from those values, are then rebuilt. Names drawn from newGenerator() are
+	 * identical to those of the Phonology the snapshot was taken from.
+	 * @param	snapshot	A buffer positioned at the start of a snapshot; it is left positioned just past its end
+	 * @since	1.2
+	 * @see		PhonologySnapshot
+	 */
+	Phonology(ByteBuffer snapshot)
+	{
+		seed = PhonologySnapshot.restore(this, snapshot);
+		rng = new Random(seed);
+		config = null;
+		
+		nameAssembly = new NameAssembly(this);
+		buildSamplingTables();
+	}
+	
 	/**
 	 * The main process by which a Phonology is set up. This creates a complete Phonology by invoking a series of methods
 	 * each of which generates some part of the Phonology. The order of operations is important, as some methods depend
@@ -326,8 +350,6 @@ public class Phonology
 	 */
 	private void constructPhonology()
 	{
-		System.out.println("Phonology Seed: " + seed);
-		
 		// Commence construction
 		makeBasicSyllableStructure();
 		determineProminence();
@@ -356,8 +378,11 @@ public class Phonology
 		// Create flowchart
 		nameAssembly = new NameAssembly(this);
 		
-		// Create stress rules
-		stressRules = new StressRules();
+		// Create stress rules, from their own stream so that they are the same in every build from this seed
+		stressRules = new StressRules(deriveSeed(seed, STRESS_RULES_STREAM));
+		
+		// Build sampling tables for the finished inventories
+		buildSamplingTables();
 	}
 	
 	/**
@@ -415,20 +440,20 @@ public class Phonology
 		// Determine cluster offsets
 		if (maxOnsetLength > 0)
 		{
-			baseOnsetClusterChance = Math.max(rng.nextGaussian() * onsetClusterProminenceStdev + onsetClusterProminenceMean,
-											  minimumOnsetClusterProminence);
+			baseOnsetClusterChance = Math.max(rng.nextGaussian() * config.onsetClusterProminenceStdev + config.onsetClusterProminenceMean,
+											  config.minimumOnsetClusterProminence);
 			onsetClusterOffset = rng.nextGaussian() * 0.25 + 0.5;
 		}
 
 		if (maxNucleusLength > 1)
 		{
-			baseDiphthongChance = Math.max(rng.nextGaussian() * 0.05 + 0.15, minimumNucleusClusterProminence);
+			baseDiphthongChance = Math.max(rng.nextGaussian() * 0.05 + 0.15, config.minimumNucleusClusterProminence);
 			diphthongOffset = rng.nextGaussian() * 0.25 + 0.5;
 		}
 		
 		if (maxCodaLength > 0)
 		{
-			baseCodaClusterChance = Math.max(rng.nextGaussian() * 0.1 + 0.25, minimumCodaClusterProminence);
+			baseCodaClusterChance = Math.max(rng.nextGaussian() * 0.1 + 0.25, config.minimumCodaClusterProminence);
 			codaClusterOffset = rng.nextGaussian() * 0.25 + 0.5;
 		}
 	}
@@ -453,12 +478,12 @@ public class Phonology
 		// Set onset prominence values for consonant properties
 		for (int i = 0; i < ConsonantProperty.values().length; i++)
 			if (rng.nextDouble() < ConsonantProperty.values()[i].probability)	// properties failing this check receive 0 prominence
-				baseProminences[i] = Math.max(rng.nextGaussian() * prominenceStdev + 1, 0.001);
+				baseProminences[i] = Math.max(rng.nextGaussian() * config.prominenceStdev + 1, 0.001);
 		
 		// Set prominence values for vowel properties
 		for (int i = 0; i < VowelProperty.values().length; i++)
 			if (rng.nextDouble() < VowelProperty.values()[i].probability)	// properties failing this check receive 0 prominence
-				vowelProminences[i] = Math.max(rng.nextGaussian() * vowelProminenceStdev + 1, 0.001);
+				vowelProminences[i] = Math.max(rng.nextGaussian() * config.vowelProminenceStdev + 1, 0.001);
 		
 		/*
 		 * Set coda prominence values for consonant properties. 
@@ -473,7 +498,7 @@ public class Phonology
 			codaDisturbance = Math.pow(rng.nextDouble(), 2);
 			
 			// Coda inhibitor is a gaussian random number; the mean and stdev are engine parameters.
-			codaProminenceOffset = rng.nextGaussian() * codaOffsetStdev + codaOffsetMean;
+			codaProminenceOffset = rng.nextGaussian() * config.codaOffsetStdev + config.codaOffsetMean;
 			codaProminenceOffset = Math.max(0, codaProminenceOffset);
 			
 			for (int i = 0; i < baseProminences.length; i++)
@@ -483,7 +508,7 @@ public class Phonology
 					codaProminences[i] = baseProminences[i];
 					
 					// Disturb prominence
-					codaProminences[i] += rng.nextGaussian() * prominenceStdev * codaDisturbance;
+					codaProminences[i] += rng.nextGaussian() * config.prominenceStdev * codaDisturbance;
 					
 					// Offset prominence
 					codaProminences[i] -= codaProminenceOffset;
@@ -499,8 +524,8 @@ public class Phonology
 			for (int i = 0; i < ConsonantProperty.values().length; i++)
 				if (baseProminences[i] > 0)
 				{
-					onsetClusterLeadProminences[i]   = rng.nextGaussian() * clusterLeadStdev   + 1;
-					onsetClusterFollowProminences[i] = rng.nextGaussian() * clusterFollowStdev + 1;
+					onsetClusterLeadProminences[i]   = rng.nextGaussian() * config.clusterLeadStdev   + 1;
+					onsetClusterFollowProminences[i] = rng.nextGaussian() * config.clusterFollowStdev + 1;
 				}
 		}
 
@@ -513,8 +538,8 @@ public class Phonology
 			for (int i = 0; i < VowelProperty.values().length; i++)
 				if (vowelProminences[i] > 0)
 				{
-					diphthongLeadProminences[i]   = rng.nextGaussian() * nucleusLeadStdev   + 1;
-					diphthongFollowProminences[i] = rng.nextGaussian() * nucleusFollowStdev + 1;
+					diphthongLeadProminences[i]   = rng.nextGaussian() * config.nucleusLeadStdev   + 1;
+					diphthongFollowProminences[i] = rng.nextGaussian() * config.nucleusFollowStdev + 1;
 				}
 		}
 		
@@ -527,8 +552,8 @@ public class Phonology
 			for (int i = 0; i < ConsonantProperty.values().length; i++)
 				if (baseProminences[i] > 0)
 				{
-					codaClusterLeadProminences[i]   = rng.nextGaussian() * clusterLeadStdev   + 1;
-					codaClusterFollowProminences[i] = rng.nextGaussian() * clusterFollowStdev + 1;
+					codaClusterLeadProminences[i]   = rng.nextGaussian() * config.clusterLeadStdev   + 1;
+					codaClusterFollowProminences[i] = rng.nextGaussian() * config.clusterFollowStdev + 1;
 				}
 		}
 		
@@ -539,16 +564,16 @@ public class Phonology
 		for (int i = 0; i < ConsonantProperty.values().length; i++)
 			if (baseProminences[i] > 0)
 			{
-				interludeLeadProminences[i]   = rng.nextGaussian() * clusterLeadStdev   + 1;
-				interludeFollowProminences[i] = rng.nextGaussian() * clusterFollowStdev + 1;
+				interludeLeadProminences[i]   = rng.nextGaussian() * config.clusterLeadStdev   + 1;
+				interludeFollowProminences[i] = rng.nextGaussian() * config.clusterFollowStdev + 1;
 			}
 		
 		// Set miscellaneous phonotactic offsets
-		onsetNgOffset   	  = Math.max(rng.nextGaussian() * onsetNgOffsetStdev + onsetNgOffsetMean, 0);
-		onsetTlDlOffset 	  = Math.max(rng.nextGaussian() * onsetTlDlOffsetStdev + onsetTlDlOffsetMean, 0);
-		codaGlottalStopOffset = Math.max(rng.nextGaussian() * codaGlottalStopOffsetStdev + codaGlottalStopOffsetMean, 0);
-		nasalDissonanceOffset = Math.max(rng.nextGaussian() * nasalDissonanceOffsetStdev + nasalDissonanceOffsetMean, 0);
-		unequalVoicingOffset  = Math.max(rng.nextGaussian() * unequalVoicingOffsetStdev + unequalVoicingOffsetMean, 0);
+		onsetNgOffset   	  = Math.max(rng.nextGaussian() * config.onsetNgOffsetStdev + config.onsetNgOffsetMean, 0);
+		onsetTlDlOffset 	  = Math.max(rng.nextGaussian() * config.onsetTlDlOffsetStdev + config.onsetTlDlOffsetMean, 0);
+		codaGlottalStopOffset = Math.max(rng.nextGaussian() * config.codaGlottalStopOffsetStdev + config.codaGlottalStopOffsetMean, 0);
+		nasalDissonanceOffset = Math.max(rng.nextGaussian() * config.nasalDissonanceOffsetStdev + config.nasalDissonanceOffsetMean, 0);
+		unequalVoicingOffset  = Math.max(rng.nextGaussian() * config.unequalVoicingOffsetStdev + config.unequalVoicingOffsetMean, 0);
 	}
 	
 	/**
@@ -601,7 +626,7 @@ public class Phonology
 		}
 		
 		// Mark phonotactic transition categories represented in this language's inventory
-		consonantCategoriesRepresented = new boolean[Phonotactics.consonantCategories.size()];
+		consonantCategoriesRepresented = new boolean[Phonotactics.consonantCategories.length];
 		for (Phoneme p : inv)
 			consonantCategoriesRepresented[p.segment.transitionCategory] = true;
 		
@@ -636,9 +661,40 @@ public class Phonology
 		}
 		
 		// Mark phonotactic transition categories represented in this language's inventory
-		vowelCategoriesRepresented = new boolean[Phonotactics.vowelCategories.size()];
+		vowelCategoriesRepresented = new boolean[Phonotactics.vowelCategories.length];
 		for (Phoneme p : inv)
 			vowelCategoriesRepresented[p.segment.transitionCategory] = true;
+		
+		// Number each phoneme by its position in its inventory
+		for (int i = 0; i < consonantInventory.length; i++)
+			consonantInventory[i].index = i;
+		for (int i = 0; i < vowelInventory.length; i++)
+			vowelInventory[i].index = i;
+		
+		// Sort the members of each inventory by phonotactic category for cluster enumeration
+		consonantCategoryMembers = categoryMembers(consonantInventory, Phonotactics.consonantCategories);
+		vowelCategoryMembers = categoryMembers(vowelInventory, Phonotactics.vowelCategories);
+	}
+	
+	/**
+	 * Builds a bitmask of the inventory members belonging to each phonotactic category. Because inventories are
+	 * ordered by segment id, visiting a category's bits from lowest to highest visits its members in the same
+	 * order as they are listed in Phonotactics.
+	 * @param	inventory	The consonant or vowel inventory, of at most 64 phonemes
+	 * @param	categories	The segment ids belonging to each phonotactic category
+	 * @return	An array whose ith entry has bit j set if the jth phoneme in the inventory belongs to category i
+	 * @since	1.2
+	 */
+	private static long[] categoryMembers(Phoneme[] inventory, int[][] categories)
+	{
+		long[] members = new long[categories.length];
+		for (int i = 0; i < members.length; i++)
+			for (int id : categories[i])
+				for (int j = 0; j < inventory.length; j++)
+					if (inventory[j].segment.id == id)
+						members[i] |= 1L << j;
+		
+		return members;
 	}
 	
 	/**
@@ -651,7 +707,7 @@ public class Phonology
 	{
 		// transProb contains every combination of 2 phonotactic categories
 		int[][] transProb = Phonotactics.onsetTransitions;
-		validOnsetTransitions = new boolean[transProb.length][transProb[0].length];
+		validOnsetTransitions = new long[transProb.length];
 		
 		// Roll lead and follow probabilities for each phonotactic category
 		double[] leadProbability = new double[transProb.length], followProbability = new double[transProb[0].length];
@@ -680,7 +736,7 @@ public class Phonology
 						double p = 0.4 * Math.pow(15, transProb[i][j] - 3);
 						
 						if (leadProbability[i] * followProbability[j] < p)
-							validOnsetTransitions[i][j] = true; 
+							validOnsetTransitions[i] |= 1L << j;
 					}
 	
 		// Determine all onsets of every permissible length
@@ -717,6 +773,9 @@ public class Phonology
 			Collections.sort(onsets[i]);
 			Collections.reverse(onsets[i]);
 		}
+		
+		// Index the finished onset clusters for makeInterludes
+		indexClusters(consonantInventory, onsets);
 	}
 	
 	/**
@@ -732,7 +791,7 @@ public class Phonology
 	private void makeNuclei()
 	{
 		int[][] transProb = Phonotactics.nucleusTransitions;
-		validNucleusTransitions = new boolean[transProb.length][transProb[0].length];
+		validNucleusTransitions = new long[transProb.length];
 		
 		// Roll lead and follow probabilities for each phonotactic category
 		double[] leadProbability = new double[transProb.length], followProbability = new double[transProb[0].length];
@@ -753,7 +812,7 @@ public class Phonology
 						double p = 0.4 * Math.pow(15, transProb[i][j] - 3);
 						
 						if (leadProbability[i] * followProbability[j] < p)
-							validNucleusTransitions[i][j] = true; 
+							validNucleusTransitions[i] |= 1L << j;
 					}
 		}
 		
@@ -766,7 +825,6 @@ public class Phonology
 			if (nuclei[0].get(i).content[0].segment.expression.equals(":"))	
 			{
 				nuclei[0].remove(i);
-				System.out.println("Removed lengthener from simple nuclei");
 			}
 		
 		
@@ -803,6 +861,31 @@ public class Phonology
 			Collections.sort(nuclei[i]);
 			Collections.reverse(nuclei[i]);
 		}
+		
+		// Index the finished diphthongs for makeHiatus
+		indexClusters(vowelInventory, nuclei);
+	}
+	
+	/**
+	 * Files every cluster in a finished onset or nucleus inventory under the phoneme it begins with, so that
+	 * addInterlude() can look up the clusters that may follow a given phoneme directly, rather than scanning the
+	 * whole inventory once for every coda and onset pair. Each phoneme's lists keep the order of the inventory.
+	 * @param	phonemes	The consonant or vowel inventory
+	 * @param	inventory	The onset or nucleus inventory, with lists of every length
+	 * @since	1.2
+	 */
+	private void indexClusters(Phoneme[] phonemes, ArrayList<Constituent>[] inventory)
+	{
+		for (Phoneme p : phonemes)
+		{
+			p.leadingClusters = newLists(inventory.length);
+			for (int i = 0; i < inventory.length; i++)
+				p.leadingClusters[i] = new ArrayList<Constituent>();
+		}
+		
+		for (int i = 1; i < inventory.length; i++)
+			for (Constituent c : inventory[i])
+				c.content[0].leadingClusters[i].add(c);
 	}
 
 	/**
@@ -818,7 +901,7 @@ public class Phonology
 	private void makeCodas()
 	{
 		int[][] transProb = Phonotactics.codaTransitions;
-		validCodaTransitions = new boolean[transProb.length][transProb[0].length];
+		validCodaTransitions = new long[transProb.length];
 		
 		// Roll lead and follow probabilities for each phonotactic category
 		double[] leadProbability = new double[transProb.length], followProbability = new double[transProb[0].length];
@@ -838,7 +921,7 @@ public class Phonology
 						double p = 0.4 * Math.pow(15, transProb[i][j] - 3);
 						
 						if (leadProbability[i] * followProbability[j] < p)
-							validCodaTransitions[i][j] = true; 
+							validCodaTransitions[i] |= 1L << j;
 					}
 	
 		// Populate the coda inventory list with codas of every permissible length
@@ -867,13 +950,13 @@ public class Phonology
 	 */
 	private void makeHiatus()
 	{
-		hiatusOffset = rng.nextGaussian() * hiatusOffsetStdev;
+		hiatusOffset = rng.nextGaussian() * config.hiatusOffsetStdev;
 		
 		int[][] transProb = Phonotactics.hiatusTransitions;
 
 		// Roll lead and follow probabilities.
 		// -1 to count ignores the 'lengthener' segment
-		double[] leadProbability = new double[Vowel.count - 1], followProbability = new double[Vowel.count - 1];
+		double[] leadProbability = new double[Vowel.segments.length - 1], followProbability = new double[Vowel.segments.length - 1];
 		for (int i = 0; i < leadProbability.length; i++)
 			leadProbability[i] = rng.nextDouble();
 		for (int i = 0; i < followProbability.length; i++)
@@ -909,7 +992,7 @@ public class Phonology
 	 */
 	private void makeInterludes()
 	{
-		interludeOffset = rng.nextGaussian() * interludeOffsetStdev;
+		interludeOffset = rng.nextGaussian() * config.interludeOffsetStdev;
 		
 		int[][] transProb = Phonotactics.interludeTransitions;
 		
@@ -1116,7 +1199,7 @@ public class Phonology
 	private void setBaseChances()
 	{
 		// Chance of a name starting with a vowel
-		baseEmptyInitialOnsetChance = Math.max(rng.nextGaussian() * emptyInitialOnsetProminenceStdev + emptyInitialOnsetProminenceMean, 0);
+		baseEmptyInitialOnsetChance = Math.max(rng.nextGaussian() * config.emptyInitialOnsetProminenceStdev + config.emptyInitialOnsetProminenceMean, 0);
 		
 		// Determine the chances of finding light or heavy rimes in weak or strong syllables.
 		// If the Phonology has no heavy rimes, then it must have light ones in all positions.
@@ -1130,7 +1213,7 @@ public class Phonology
 		else
 		{
 			// Strong syllables 
-			strongHeavyRimeChance = rng.nextGaussian() * strongHeavyRimeChanceStdev + strongHeavyRimeChanceMean;
+			strongHeavyRimeChance = rng.nextGaussian() * config.strongHeavyRimeChanceStdev + config.strongHeavyRimeChanceMean;
 			strongHeavyRimeChance = Math.max(Math.min(strongHeavyRimeChance, 1), 0);
 			strongLightRimeChance = (1 - strongHeavyRimeChance);
 			
@@ -1139,7 +1222,7 @@ public class Phonology
 			strongLightRimeChance /= total;
 			
 			// 
-			weakHeavyRimeChance = rng.nextGaussian() * weakHeavyRimeChanceStdev + weakHeavyRimeChanceMean;
+			weakHeavyRimeChance = rng.nextGaussian() * config.weakHeavyRimeChanceStdev + config.weakHeavyRimeChanceMean;
 			weakHeavyRimeChance = Math.max(Math.min(weakHeavyRimeChance, 1), 0);
 			weakLightRimeChance = (1 - weakHeavyRimeChance);
 			
@@ -1161,11 +1244,11 @@ public class Phonology
 		LogNormalDistribution logNormal;
 		
 		// Base medial onset chance		
-		logNormal = new LogNormalDistribution(baseOnsetChanceMean, baseOnsetChanceStdev);
+		logNormal = new LogNormalDistribution(config.baseOnsetChanceMean, config.baseOnsetChanceStdev);
 		logNormal.reseedRandomGenerator(rng.nextLong());
 		
 		if (counts[SIMPLE_NUCLEI_WITH_HIATUS] > 0)
-			baseMedialOnsetChance = 1 - (logNormal.sample() - baseOnsetChanceOffset);
+			baseMedialOnsetChance = 1 - (logNormal.sample() - config.baseOnsetChanceOffset);
 		else
 			baseMedialOnsetChance = 1;
 		
@@ -1175,13 +1258,13 @@ public class Phonology
 		if (maxCodaLength > 0)
 		{
 			baseCodaChance = logNormal.sample();
-			logNormal = new LogNormalDistribution(baseCodaChanceMean, baseCodaChanceStdev);
+			logNormal = new LogNormalDistribution(config.baseCodaChanceMean, config.baseCodaChanceStdev);
 			logNormal.reseedRandomGenerator(rng.nextLong());
 		}
 		else
 			baseCodaChance = 0;
 		
-		codaLocationBalance = rng.nextGaussian() * codaLocationBalanceStdev + codaLocationBalanceMean;
+		codaLocationBalance = rng.nextGaussian() * config.codaLocationBalanceStdev + config.codaLocationBalanceMean;
 		codaLocationBalance = Math.max(Math.min(codaLocationBalance, 1), 0);
 		
 		baseMedialCodaChance =   Math.max(Math.min(baseCodaChance * codaLocationBalance, 1), 0);
@@ -1196,62 +1279,94 @@ public class Phonology
 		if (maxCodaLength < 2)		baseCodaClusterChance = 0;
 	}
 	
+	/**
+	 * Builds an alias table for every onset, nucleus, and coda inventory, so that syllable segments can be picked
+	 * in constant time, and records the information content of each syllable segment, so that names can be
+	 * assembled by adding it up. This must be called only after the inventories have been finalized, as the tables
+	 * do not reflect later changes to the lists they were built from.
+	 * @since	1.2
+	 */
+	private void buildSamplingTables()
+	{
+		for (ArrayList<Constituent>[] inventory : Arrays.asList(onsets, nuclei, codas))
+			for (ArrayList<Constituent> list : inventory)
+				for (Constituent c : list)
+					c.informationContent = -Math.log(c.probability);
+		
+		onsetTables = new AliasTable[onsets.length];
+		for (int i = 0; i < onsets.length; i++)
+			onsetTables[i] = AliasTable.of(onsets[i]);
+		
+		nucleusTables = new AliasTable[nuclei.length];
+		for (int i = 0; i < nuclei.length; i++)
+			nucleusTables[i] = AliasTable.of(nuclei[i]);
+		
+		codaTables = new AliasTable[codas.length];
+		for (int i = 0; i < codas.length; i++)
+			codaTables[i] = AliasTable.of(codas[i]);
+	}
+	
 	/**
 	 * Returns any onset from the inventory at random.
+	 * @param	rng		The random number generator with which to make the selection
 	 * @return	SyllableSegment	A randomly selected onset of any length
 	 * @since	1.0
 	 */
-	protected Constituent pickOnset()
+	protected Constituent pickOnset(Random rng)
 	{
 		if (maxOnsetLength == 1 || rng.nextDouble() < simpleOnsetProbability)
-			return pickSimpleOnset();
+			return pickSimpleOnset(rng);
 		else
-			return pickComplexOnset();
+			return pickComplexOnset(rng);
 	}
 	
 	/**
 	 * Returns a simple onset at random.
+	 * @param	rng		The random number generator with which to make the selection
 	 * @return	SyllableSegment	A randomly selected onset of length 1
 	 * @since	1.0
 	 */
-	protected Constituent pickSimpleOnset()
+	protected Constituent pickSimpleOnset(Random rng)
 	{
-		return pickSyllableSegment(onsets[0]);
+		return pickSyllableSegment(onsetTables[0], rng);
 	}
 	
 	/**
 	 * Returns a complex onset at random, or null if the Phonology has no complex onsets.
+	 * @param	rng		The random number generator with which to make the selection
 	 * @return	SyllableSegment	A randomly selected onset of length 2 or more, or null
 	 * @since	1.0 
 	 */
-	protected Constituent pickComplexOnset()
+	protected Constituent pickComplexOnset(Random rng)
 	{
 		if (maxOnsetLength > 1)
-			return pickSyllableSegment(onsets[1 + pickClusterLength(onsetClusterLengthProbabilities)]);
+			return pickSyllableSegment(onsetTables[1 + pickClusterLength(onsetClusterLengthProbabilities, rng)], rng);
 		else
 			return null;
 	}
 	
 	/**
 	 * Returns a simple nucleus at random.
+	 * @param	rng		The random number generator with which to make the selection
 	 * @return	SyllableSegment	A randomly selected nucleus of length 1
 	 * @since	1.0
 	 */
-	protected Constituent pickSimpleNucleus()
+	protected Constituent pickSimpleNucleus(Random rng)
 	{
-		return pickSyllableSegment(nuclei[0]);
+		return pickSyllableSegment(nucleusTables[0], rng);
 	}
 	
 	/**
 	 * Returns a complex nucleus at random, or null if the Phonology has no complex nuclei.
 	 * 
+	 * @param	rng		The random number generator with which to make the selection
 	 * @return	SyllableSegment	A randomly selected nucleus of length 2 or more, or null
 	 * @since	1.0
 	 */
-	protected Constituent pickComplexNucleus()
+	protected Constituent pickComplexNucleus(Random rng)
 	{
 		if (maxNucleusLength > 1)
-			return pickSyllableSegment(nuclei[1]);
+			return pickSyllableSegment(nucleusTables[1], rng);
 		else
 			return null;
 	}
@@ -1259,27 +1374,29 @@ public class Phonology
 	/**
 	 * Returns any coda from the inventory at random.
 	 * 
+	 * @param	rng		The random number generator with which to make the selection
 	 * @return	SyllableSegment	A randomly selected coda of any length
 	 * @since	1.0
 	 */
-	protected Constituent pickCoda()
+	protected Constituent pickCoda(Random rng)
 	{
 		if (maxCodaLength == 1 || rng.nextDouble() < simpleCodaProbability)
-			return pickSimpleCoda();
+			return pickSimpleCoda(rng);
 		else
-			return pickComplexCoda();
+			return pickComplexCoda(rng);
 	}
 	
 	/**
 	 * Returns a simple coda at random, or null if the language has no codas.
 	 * 
+	 * @param	rng		The random number generator with which to make the selection
 	 * @return	SyllableSegment	A randomly selected coda of length 1, or null
 	 * @since	1.0
 	 */
-	protected Constituent pickSimpleCoda()
+	protected Constituent pickSimpleCoda(Random rng)
 	{
 		if (maxCodaLength > 0)
-			return pickSyllableSegment(codas[0]);
+			return pickSyllableSegment(codaTables[0], rng);
 		else
 			return null;
 	}
@@ -1287,66 +1404,52 @@ public class Phonology
 	/**
 	 * Returns a complex coda at random, or null if the Phonology has no complex codas.
 	 * 
+	 * @param	rng		The random number generator with which to make the selection
 	 * @return	SyllableSegment	A randomly selected coda of length 2 or more, or null
 	 * @since	1.0
 	 */
-	protected Constituent pickComplexCoda()
+	protected Constituent pickComplexCoda(Random rng)
 	{
 		if (maxCodaLength > 1)
-			return pickSyllableSegment(codas[1 + pickClusterLength(codaClusterLengthProbabilities)]);
+			return pickSyllableSegment(codaTables[1 + pickClusterLength(codaClusterLengthProbabilities, rng)], rng);
 		else
 			return null;
 	}
 	
 	/**
-	 * Returns a syllable segment from a given phoneme's interlude list. For a coda, this segment represents the
-	 * onset of the next syllable. For a nucleus, this segment represents the nucleus of the next syllable in
-	 * a case of hiatus (no consonantal boundary between syllables).
+	 * Picks the length of the syllable segment to follow a given phoneme across a syllable boundary. For a coda,
+	 * this segment represents the onset of the next syllable. For a nucleus, this segment represents the nucleus
+	 * of the next syllable in a case of hiatus (no consonantal boundary between syllables). 
 	 * @param	p	The last phoneme of the current syllable, hence the final element of either a coda or nucleus
-	 * @return	SyllableSegment	The first syllable segment of the next syllable, hence either an onset or nucleus 
+	 * @param	rng		The random number generator with which to make the selection
+	 * @return	The index of the phoneme's interlude table from which to pick the following syllable segment
+	 * @since	1.0
 	 */
-	protected Follower pickInterlude(Phoneme p)
+	protected int pickInterludeLength(Phoneme p, Random rng)
 	{
 		if (maxOnsetLength == 1)
-			return p.pickInterlude(0);
+			return 0;
 		else
-		{
-			return p.pickInterlude(pickClusterLength(p.interludeLengthProbabilities));
-		}
+			return pickClusterLength(p.interludeLengthProbabilities, rng);
 	}
 	
 	/**
-	 * General method for returning a random syllable segment from a given arraylist.
+	 * General method for returning a random syllable segment from a given sampling table.
 	 * 
-	 * @param 	inventory	A list of syllable segments (onsets, nuclei, or codas) of a particular length, from the master inventory
-	 * @return	SyllableSegment	One ite
+	 * @param 	table	The alias table for a list of syllable segments (onsets, nuclei, or codas) of a particular length
+	 * @param	rng		The random number generator with which to make the selection
+	 * @return	SyllableSegment	One item from the table, drawn according to its probability
+	 * @throws	GenerationException	If the table is empty
 	 * @since	1.0
 	 */
-	protected Constituent pickSyllableSegment(ArrayList<Constituent> inventory)
+	protected Constituent pickSyllableSegment(AliasTable table, Random rng)
 	{
-		// Generate a random number between 1 and 0 and subtract probability values in order (the  lists are sorted
-		// largest to smallest) until we reach a number lower than 0. The syllable segment whose prominence value took 
-		// us over the edge is returned.		
-		try
-		{
-			double rand = rng.nextDouble();
-			for (Constituent c : inventory)
-			{
-				if (rand < c.probability)
-					return c;
-				else
-					rand -= c.probability;
-			}
-			throw new Exception();
-		} catch (Exception e) {
-			System.err.println("Failed to select syllable segment; were the inventory's prominence values not normalized?");
-			for (Constituent c : inventory)
-				System.out.println(c + " " + c.probability);
-			e.printStackTrace();
-			System.exit(0);
-		}
+		// Draw from the inventory's alias table. The table can only fail to produce a syllable segment if
+		// the inventory it was built from is empty.
+		if (table.size() == 0)
+			throw new GenerationException("Failed to select syllable segment; the inventory is empty.");
 		
-		return null;
+		return table.content[table.sample(rng)];
 	}
 	
 	/**
@@ -1355,10 +1458,12 @@ public class Phonology
 	 * be equal to that index's value.
 	 * 
 	 * @param	probabilities	A list of cluster length probabilities (either for onset or coda)
+	 * @param	rng		The random number generator with which to make the selection
 	 * @return	int				The index corresponding to the length of cluster selected
+	 * @throws	GenerationException	If the probabilities sum to less than the number drawn
 	 * @since	1.0
 	 */
-	protected int pickClusterLength(double[] probabilities)
+	protected int pickClusterLength(double[] probabilities, Random rng)
 	{
 		// Select length of onset
 		double rand = rng.nextDouble();
@@ -1370,249 +1475,245 @@ public class Phonology
 				rand -= probabilities[i];
 		}
 		
-		System.err.println("pickClusterLength() returned -1");
-		System.exit(0);
-		return -1;
+		throw new GenerationException("Failed to select cluster length; the probabilities sum to less than 1.");
 	}
 	
 	/**
-	 * Populates the onset inventories by calling the recursive function findAllOnsets(ArrayList<Phoneme>) for each
+	 * Populates the onset inventories by calling the recursive function findAllOnsets(int[], int) for each
 	 * phoneme on the consonant inventory.
 	 * @since	1.0
 	 */
 	private void findAllOnsets()
 	{
-		for (Phoneme p : consonantInventory)
+		int[] onset = new int[maxOnsetLength];
+		for (int i = 0; i < consonantInventory.length; i++)
 		{
-			ArrayList<Phoneme> onset = new ArrayList<Phoneme>();
-			onset.add(p);
-			findAllOnsets(onset);
+			onset[0] = i;
+			findAllOnsets(onset, 1);
 		}
 	}
 	
 	/**
 	 * Discovers every available onset beginning with the given phoneme sequence. This method starts by adding the current
 	 * phoneme, then recurses on every onset that might be formed by adding one more phoneme to the current one.
-	 * @param	onset	An onset of arbitrary length
+	 * @param	onset	A stack of consonant inventory indices, shared by every level of the recursion
+	 * @param	length	The length of the onset at the bottom of the stack
 	 * @since	1.0
 	 */
-	private void findAllOnsets(ArrayList<Phoneme> onset)
+	private void findAllOnsets(int[] onset, int length)
 	{
 		// Start by adding the current phoneme.
 		// To do this, its prominence (unnormalized probability) must be calculated.
 		// For simple onsets, the prominence is merely equal to its sole phoneme's onset initial prominence.
-		double prominence = onset.get(0).onsetInitialProminence;
+		double prominence = consonantInventory[onset[0]].onsetInitialProminence;
 
 		// For complex onsets, the initial onset prominence of the first phoneme is combined with the
 		// onset cluster lead/follow prominences for every consecutive pair of phonemes by adding their
 		// deviations from their common mean. The onsetClusterOffset is also applied for each pair.
-		if (onset.size() > 1)
-			for (int i = 0; i < onset.size() - 1; i++)
+		for (int i = 0; i < length - 1; i++)
+		{
+			Phoneme lead = consonantInventory[onset[i]], follow = consonantInventory[onset[i+1]];
+			prominence += lead.onsetClusterLeadProminence + follow.onsetClusterFollowProminence - 2  - onsetClusterOffset;
+			
+			// Offset for tl/dl clusters
+			if (lead.segment.properties[0] == ConsonantProperty.PLOSIVE &&
+				lead.segment.properties[1] == ConsonantProperty.ALVEOLAR &&
+				follow.segment.expression.equals("l"))
 			{
-				prominence += onset.get(i).onsetClusterLeadProminence + onset.get(i+1).onsetClusterFollowProminence - 2  - onsetClusterOffset;
-				
-				// Offset for tl/dl clusters
-				if (onset.get(i).segment.properties[0] == ConsonantProperty.PLOSIVE &&
-					onset.get(i).segment.properties[1] == ConsonantProperty.ALVEOLAR &&
-					onset.get(i+1).segment.expression.equals("l"))
-				{
-					prominence -= onsetTlDlOffset;
-				}
+				prominence -= onsetTlDlOffset;
 			}
+		}
 		
 		// Add the current onset to the appropriate onset inventory
-		Constituent seg = new Constituent(ConstituentType.ONSET, onset.toArray(new Phoneme[onset.size()]), prominence);
-		onsets[onset.size() - 1].add(seg);
+		Constituent seg = new Constituent(ConstituentType.ONSET, phonemes(consonantInventory, onset, length), prominence);
+		onsets[length - 1].add(seg);
 		
 		// If you've reached the largest cluster size, return immediately and do not examine large clusters
-		if (onset.size() >= maxOnsetLength)
+		if (length >= maxOnsetLength)
 			return;
 		
 		// Otherwise, consider what additions to this cluster might be possible
-		int ptCat = onset.get(onset.size() - 1).segment.transitionCategory; // get phonotactic transition category of the latest phoneme
+		int ptCat = consonantInventory[onset[length - 1]].segment.transitionCategory; // get phonotactic transition category of the latest phoneme
 		
-		// For each phonotactic category to which the current phoneme might transition...
-		for (int i = 0; i < validOnsetTransitions[ptCat].length; i++)
-			if (validOnsetTransitions[ptCat][i])
+		// For each phonotactic category to which the current phoneme might transition, consider every member
+		// phoneme: create a new cluster by appending it to the current one, and recurse on it.
+		for (long categories = validOnsetTransitions[ptCat]; categories != 0; categories &= categories - 1)
+			for (long members = consonantCategoryMembers[Long.numberOfTrailingZeros(categories)]; members != 0; members &= members - 1)
 			{
-				// ... consider every member segment.
-				for (int nextSound : Phonotactics.consonantCategories.get(i))
-				{
-					// If this Phonology has that segment, then create a new cluster by appending it to the current,
-					// and recurse on it.
-					for (int j = 0; j < consonantInventory.length; j++)
-						if (consonantInventory[j].segment.id == nextSound)
-						{
-							ArrayList<Phoneme> copy = new ArrayList<Phoneme>();
-							for (Phoneme p : onset)
-								copy.add(p);
-							copy.add(consonantInventory[j]);
-							
-							findAllOnsets(copy);
-							j = consonantInventory.length;	// Segment found; stop searching
-						}
-				}
+				onset[length] = Long.numberOfTrailingZeros(members);
+				findAllOnsets(onset, length + 1);
 			}
 	}
 	
 	/**
-	 * Populates the nucleus inventories by calling the recursive function findAllNuclei(ArrayList<Phoneme>) on each
+	 * Populates the nucleus inventories by calling the recursive function findAllNuclei(int[], int) on each
 	 * phoneme in the vowel inventory.
 	 * @since	1.0
 	 */
 	private void findAllNuclei()
 	{
-		for (Phoneme p : vowelInventory)
+		int[] nucleus = new int[maxNucleusLength];
+		for (int i = 0; i < vowelInventory.length; i++)
 		{
-			ArrayList<Phoneme> nucleus = new ArrayList<Phoneme>();
-			nucleus.add(p);
-			findAllNuclei(nucleus);
+			// Do not allow nuclei beginning with a vowel lengthener
+			if (vowelInventory[i].segment.expression.equals(":"))
+				continue;
+			
+			nucleus[0] = i;
+			findAllNuclei(nucleus, 1);
 		}
 	}
 	
 	/**
 	 * Discovers every available nucleus beginning with the given phoneme sequence. This method starts by adding the current
 	 * phoneme, then recurses on every nucleus that might be formed by adding one more phoneme to the current one.
-	 * @param	nucleus	A nucleus of arbitrary length
+	 * @param	nucleus	A stack of vowel inventory indices, shared by every level of the recursion
+	 * @param	length	The length of the nucleus at the bottom of the stack
 	 * @since	1.0
 	 */
-	private void findAllNuclei(ArrayList<Phoneme> nucleus)
+	private void findAllNuclei(int[] nucleus, int length)
 	{
-		// Do not allow nuclei beginning with a vowel lengthener
-		if (nucleus.get(0).segment.expression.equals(":"))
-			return;
-		
 		// Start by adding the current phoneme.
 		// To do this, its prominence (unnormalized probability) must be calculated.
 		// For simple nuclei, the prominence is merely equal to its sole phoneme's onset initial prominence (we're talking
 		// about nuclei here, but the variable does double duty).
-		double prominence = nucleus.get(0).onsetInitialProminence;
+		double prominence = vowelInventory[nucleus[0]].onsetInitialProminence;
 		
 		// For complex nuclei, the maximum length of which is 2, the initial onset prominence of the first phoneme is
 		// combined with the diphtong lead and follow prominences for pair by adding their deviations from their common mean.
 		// The onsetClusterOffset is also applied.
-		if (nucleus.size() > 1)
-			for (int i = 0; i < nucleus.size() - 1; i++)
-				prominence += nucleus.get(i).nucleusLeadProminence + nucleus.get(i+1).nucleusFollowProminence - 2 - diphthongOffset;
+		for (int i = 0; i < length - 1; i++)
+			prominence += vowelInventory[nucleus[i]].nucleusLeadProminence + vowelInventory[nucleus[i+1]].nucleusFollowProminence - 2 - diphthongOffset;
 		
 		// Add this nucleus to the appropriate nucleus inventory
-		Constituent seg = new Constituent(ConstituentType.NUCLEUS, nucleus.toArray(new Phoneme[nucleus.size()]), prominence);
-		nuclei[nucleus.size() - 1].add(seg);
+		Constituent seg = new Constituent(ConstituentType.NUCLEUS, phonemes(vowelInventory, nucleus, length), prominence);
+		nuclei[length - 1].add(seg);
 		
 		// If you've reached the largest nucleus length, return without examining any longer diphthongs
-		if (nucleus.size() >= maxNucleusLength)
+		if (length >= maxNucleusLength)
 			return;
 		
 		// Otherwise, consider what additions to this diphthong might be possible
-		int ptCat = nucleus.get(nucleus.size() - 1).segment.transitionCategory; // get phonotactic transition category of the latest phoneme
+		int ptCat = vowelInventory[nucleus[length - 1]].segment.transitionCategory; // get phonotactic transition category of the latest phoneme
 		
-		// For each phonotactic category to which the current phoneme might transition...
-		for (int i = 0; i < validNucleusTransitions[ptCat].length; i++)
-			if (validNucleusTransitions[ptCat][i])
+		// For each phonotactic category to which the current phoneme might transition, consider every member
+		// phoneme: create a new diphthong by appending it to the current nucleus, and recurse on it.
+		for (long categories = validNucleusTransitions[ptCat]; categories != 0; categories &= categories - 1)
+			for (long members = vowelCategoryMembers[Long.numberOfTrailingZeros(categories)]; members != 0; members &= members - 1)
 			{
-				// ... consider every member segment.
-				for (int nextSound : Phonotactics.vowelCategories.get(i))
-				{
-					// If this Phonology has that segment, then create a new cluster by appending it to the current,
-					// and recurse on it.
-					for (int j = 0; j < vowelInventory.length; j++)
-						if (vowelInventory[j].segment.id == nextSound)
-						{
-							ArrayList<Phoneme> copy = new ArrayList<Phoneme>();
-							for (Phoneme p : nucleus)
-								copy.add(p);
-							copy.add(vowelInventory[j]);
-							
-							findAllNuclei(copy);
-							j = vowelInventory.length;	// Segment found; stop searching
-						}
-				}
+				nucleus[length] = Long.numberOfTrailingZeros(members);
+				findAllNuclei(nucleus, length + 1);
 			}
 	}
 	
 	/**
-	 * Populates the coda inventories by calling the recursive function findAllCodas(ArrayList<Phoneme>) for each
+	 * Populates the coda inventories by calling the recursive function findAllCodas(int[], int) for each
 	 * phoneme in the consonant inventory.
 	 * @since	1.0
 	 */
 	private void findAllCodas()
 	{
-		for (Phoneme p : consonantInventory)
+		int[] coda = new int[maxCodaLength];
+		for (int i = 0; i < consonantInventory.length; i++)
 		{
-			ArrayList<Phoneme> coda = new ArrayList<Phoneme>();
-			coda.add(p);
-			findAllCodas(coda, Phonotactics.codaTransitions.length - 1);
+			// Do not allow codas beginning with a glide (this feature is covered by diphthongs)
+			if (consonantInventory[i].segment.properties[0].equals(ConsonantProperty.GLIDE))
+				continue;
+			
+			coda[0] = i;
+			findAllCodas(coda, 1);
 		}
 	}
 	
 	/**
 	 * Discovers every available coda beginning with the given phoneme sequence. This method starts by adding the current
 	 * phoneme, then recurses on every coda that might be formed by adding one more phoneme to the current one.
-	 * @param	coda	A coda of arbitrary length
+	 * @param	coda	A stack of consonant inventory indices, shared by every level of the recursion
+	 * @param	length	The length of the coda at the bottom of the stack
 	 * @since	1.0
 	 */
-	private void findAllCodas(ArrayList<Phoneme> coda, int start)
+	private void findAllCodas(int[] coda, int length)
 	{
-		// Do not allow codas beginning with a glide (this feature is covered by diphthongs)
-		if (coda.get(0).segment.properties[0].equals(ConsonantProperty.GLIDE))
-			return;
-
 		// Start by adding the current phoneme.
 		// To do this, its prominence (unnormalized probability) must be calculated.
 		// For simple codas, the prominence is merely equal to its sole phoneme's codaInitialProminence.
-		double prominence = coda.get(0).codaInitialProminence;
+		double prominence = consonantInventory[coda[0]].codaInitialProminence;
 		
 		// For complex codas, the initial coda prominence of the first phoneme is combined with the
 		// coda cluster lead/follow prominences for every consecutive pair of phonemes by adding their
 		// deviations from their common mean. The codaClusterOffset is also applied for each pair.
-		if (coda.size() > 1)
-			for (int i = 0; i < coda.size() - 1; i++)
-			{
-				prominence += coda.get(i).codaClusterLeadProminence + coda.get(i+1).codaClusterFollowProminence - 2 - codaClusterOffset;
-				
-				// Penalize for dissimilar nasal-plosive clusters
-				if (isDissonantNasalCluster(coda.get(i), coda.get(i+1)))
-					prominence -= nasalDissonanceOffset;
-			}
+		for (int i = 0; i < length - 1; i++)
+		{
+			Phoneme lead = consonantInventory[coda[i]], follow = consonantInventory[coda[i+1]];
+			prominence += lead.codaClusterLeadProminence + follow.codaClusterFollowProminence - 2 - codaClusterOffset;
+			
+			// Penalize for dissimilar nasal-plosive clusters
+			if (isDissonantNasalCluster(lead, follow))
+				prominence -= nasalDissonanceOffset;
+		}
 		
 		// Add the current coda to the appropriate coda inventory
-		Constituent seg = new Constituent(ConstituentType.CODA, coda.toArray(new Phoneme[coda.size()]), prominence);
-		codas[coda.size() - 1].add(seg);
+		Constituent seg = new Constituent(ConstituentType.CODA, phonemes(consonantInventory, coda, length), prominence);
+		codas[length - 1].add(seg);
 		
 		// If you've reached the largest cluster size, return immediately and do not examine large clusters
-		if (coda.size() >= maxCodaLength)
+		if (length >= maxCodaLength)
 			return;
 		
 		// Otherwise, consider how this cluster might continue
-		int ptCat = coda.get(coda.size() - 1).segment.transitionCategory; // get phonotactic transition category of the latest phoneme
+		int ptCat = consonantInventory[coda[length - 1]].segment.transitionCategory; // get phonotactic transition category of the latest phoneme
 		
-		// For each phonotactic category to which the current phoneme might transition...
-		for (int i = Math.floorMod(ptCat-1, validCodaTransitions.length); i != start; i = Math.floorMod(i-1, validCodaTransitions.length))
-			if (validCodaTransitions[ptCat][i])
+		// For each phonotactic category to which the current phoneme might transition, consider every member
+		// phoneme: create a new cluster by appending it to the current one, and recurse on it. Only categories
+		// below the current one may follow it in a coda, and they are visited from the highest down.
+		for (long categories = validCodaTransitions[ptCat] & ((1L << ptCat) - 1); categories != 0; )
+		{
+			int category = 63 - Long.numberOfLeadingZeros(categories);
+			categories &= ~(1L << category);
+			
+			for (long members = consonantCategoryMembers[category]; members != 0; members &= members - 1)
 			{
-				// ... consider every member segment.
-				for (int nextSound : Phonotactics.consonantCategories.get(i))
-				{
-					// If this Phonology has that segment, then create a new cluster by appending it to the current,
-					// and recurse on it.
-					for (int j = 0; j < consonantInventory.length; j++)
-						if (consonantInventory[j].segment.id == nextSound)
-						{
-							ArrayList<Phoneme> copy = new ArrayList<Phoneme>();
-							for (Phoneme p : coda)
-								copy.add(p);
-							copy.add(consonantInventory[j]);
-							
-							findAllCodas(copy, start);
-							j = consonantInventory.length;	// Segment found; stop searching		
-						}
-				}
+				coda[length] = Long.numberOfTrailingZeros(members);
+				findAllCodas(coda, length + 1);
 			}
+		}
+	}
+	
+	/**
+	 * Copies a syllable segment's phonemes out of an enumeration stack.
+	 * @param	inventory	The inventory the stack indexes into
+	 * @param	indices		The stack of inventory indices
+	 * @param	length		The number of phonemes in the syllable segment
+	 * @return	The syllable segment's phonemes, in order
+	 * @since	1.2
+	 */
+	private static Phoneme[] phonemes(Phoneme[] inventory, int[] indices, int length)
+	{
+		Phoneme[] content = new Phoneme[length];
+		for (int i = 0; i < length; i++)
+			content[i] = inventory[indices[i]];
+		
+		return content;
+	}
+	
+	/**
+	 * Creates an array of lists, which cannot be created directly for a list of a generic element type.
+	 * @param	length	The number of lists
+	 * @return	An array of the given length, with no lists in it yet
+	 * @since	1.2
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static <T> ArrayList<T>[] newLists(int length)
+	{
+		return new ArrayList[length];
 	}
 	
 	/**
 	 * Generates a sample of Phonologies and compiles statistics on them. The function prints the average
-	 * time taken to generate a phonology, as well as the average value for each feature tracked by gatherStatistics(). 
+	 * time taken to generate a phonology, as well as the average value for each feature tracked by gatherStatistics().
+	 * The sample is built in parallel by a PhonologyFactory, so the time per phonology is measured within each
+	 * build, and the number built per second of wall-clock time is printed as well; Phonologies that fail to
+	 * build are counted and left out of the averages.
 	 * @param	count	The number of Phonologies to generate for the sample 
 	 * @since	1.0
 	 */
@@ -1620,42 +1721,64 @@ public class Phonology
 	{
 		// Initialize counts
 		int[] persistentCounts = new int[11];
+		
+		// Pick a random seed for each Phonology
+		Random seeder = new Random();
+		long[] seeds = new long[count];
+		for (int i = 0; i < count; i++)
+			seeds[i] = seeder.nextLong();
 
 		// Start timer
 		long startTime = System.nanoTime();
 		
-		// Suppress output by having System print to a dummy OutputStream
-		PrintStream original = System.out;
-		PrintStream dummy = new PrintStream(new OutputStream() { public void write(int b) {} });
-		System.setOut(dummy);
-		
 		// Generate the given number of Phonologies and record their feature counts
-		for (int i = 0; i < count; i++)
+		int built = 0;
+		long buildTime = 0;
+		for (PhonologyFactory.Result result : new PhonologyFactory().build(seeds))
 		{
-			Phonology p = new Phonology();
-			for (int j = 0; j < persistentCounts.length; j++)
-				persistentCounts[j] += p.counts[j]; 
+			buildTime += result.getBuildTime();
+			if (result.isSuccessful())
+			{
+				for (int j = 0; j < persistentCounts.length; j++)
+					persistentCounts[j] += result.getPhonology().counts[j];
+				built++;
+			}
 		}
 		
-		// Reset System.out to its original value
-		System.setOut(original);
-		
 		// End timer
 		long endTime = System.nanoTime();
-		double time = (endTime - startTime) / (count * 1000000);
+		double time = buildTime / (count * 1000000.0);
+		double throughput = count / ((endTime - startTime) / 1e9);
 		
 		// Print findings
+		if (built < count)
+			System.out.println("FAILED\t" + (count - built));
+		if (built == 0)
+			return;
+		
 		System.out.println("AVERAGE\tSIMPLE\tCOMPLEX");
-		System.out.println("ONSETS\t" + (persistentCounts[SIMPLE_ONSETS] / count) + "\t" + (persistentCounts[COMPLEX_ONSETS] / count));
-		System.out.println("NUCLEI\t" + (persistentCounts[SIMPLE_NUCLEI] / count) + "\t" + (persistentCounts[COMPLEX_NUCLEI] / count));
-		System.out.println("CODAS \t" + (persistentCounts[SIMPLE_CODAS]  / count) + "\t" + (persistentCounts[COMPLEX_CODAS]  / count));
-		System.out.println("HIATUS\t" + (persistentCounts[SIMPLE_NUCLEI_WITH_HIATUS]  / count) + "\t" 
-									  + (persistentCounts[COMPLEX_NUCLEI_WITH_HIATUS]  / count));
-		System.out.println("COMPOUND INTERLUDES\t" + persistentCounts[COMPOUND_INTERLUDES] / count);
-		System.out.println("LIGHT RIMES\t" + persistentCounts[LIGHT_RIMES] / count);
-		System.out.println("HEAVY RIMES\t" + persistentCounts[HEAVY_RIMES] / count);
+		System.out.println("ONSETS\t" + average(persistentCounts[SIMPLE_ONSETS], built) + "\t" + average(persistentCounts[COMPLEX_ONSETS], built));
+		System.out.println("NUCLEI\t" + average(persistentCounts[SIMPLE_NUCLEI], built) + "\t" + average(persistentCounts[COMPLEX_NUCLEI], built));
+		System.out.println("CODAS \t" + average(persistentCounts[SIMPLE_CODAS], built) + "\t" + average(persistentCounts[COMPLEX_CODAS], built));
+		System.out.println("HIATUS\t" + average(persistentCounts[SIMPLE_NUCLEI_WITH_HIATUS], built) + "\t" 
+									  + average(persistentCounts[COMPLEX_NUCLEI_WITH_HIATUS], built));
+		System.out.println("COMPOUND INTERLUDES\t" + average(persistentCounts[COMPOUND_INTERLUDES], built));
+		System.out.println("LIGHT RIMES\t" + average(persistentCounts[LIGHT_RIMES], built));
+		System.out.println("HEAVY RIMES\t" + average(persistentCounts[HEAVY_RIMES], built));
 		
 		System.out.println("Average time per language: " + time + "ms");
+		System.out.printf("Throughput: %.1f languages/s%n", throughput);
+	}
+	
+	/**
+	 * @param	total	The sum of a feature count over a sample of Phonologies
+	 * @param	count	The number of Phonologies in the sample
+	 * @return	The average count, to two decimal places
+	 * @since	1.2
+	 */
+	private static String average(long total, int count)
+	{
+		return String.format("%.2f", (double) total / count);
 	}
 	
 	/**
@@ -1708,16 +1831,135 @@ public class Phonology
 	}
 	
 	/**
-	 * Generates and returns a random name from this Phonology.
+	 * Generates and returns a random name from this Phonology. This method may be called from several threads at
+	 * once without locking, though the interleaving of their draws from the Phonology's random number generator
+	 * is then unpredictable; use newGenerator() for reproducible concurrent generation.
+	 * @return	The generated Name, or null if it failed under the SKIP policy
+	 * @throws	GenerationException	If the name could not be generated under the FAIL_FAST or RETRY policies
 	 * @since	1.0
 	 */
 	public Name makeName()
 	{
-		return nameAssembly.makeName();
+		return nameAssembly.makeName(rng);
 	}
 	
 	/**
-	 * Generates and returns a list of random names from this Phonology.
+	 * Generates and returns a random name from this Phonology whose information content lies between the given
+	 * bounds, for picking names of a particular rarity or length. Such names are always assembled by the compiled
+	 * flowchart, which steers each name toward the middle of the band, draws its last rimes again when it misses,
+	 * and abandons any that cannot reach it; the names drawn therefore follow the Phonology's own distribution only
+	 * approximately. Bands far from the usual information content of names may be slow to fill, or fail
+	 * altogether; see getBandAcceptanceRate().
+	 * 
+	 * @param	minIC	The least information content allowed
+	 * @param	maxIC	The greatest information content allowed
+	 * @return	The generated Name, or null if it failed under the SKIP policy
+	 * @throws	IllegalArgumentException	If minIC is greater than maxIC, or either is NaN
+	 * @throws	GenerationException	If no name was found within the band under the FAIL_FAST or RETRY policies
+	 * @since	1.2
+	 */
+	public Name makeName(double minIC, double maxIC)
+	{
+		return nameAssembly.makeName(rng, minIC, maxIC);
+	}
+	
+	/**
+	 * Chooses whether names are assembled by the compiled, table-driven form of the name assembly flowchart (the
+	 * default) or by walking its Nodes one by one. Both produce identical names; the latter is kept as a reference.
+	 * 
+	 * @param	compiled	True to use the compiled flowchart
+	 * @since	1.2
+	 */
+	public void setCompiledAssembly(boolean compiled)
+	{
+		nameAssembly.compiled = compiled;
+	}
+	
+	/**
+	 * @return	True if names are assembled by the compiled flowchart
+	 * @since	1.2
+	 */
+	public boolean isCompiledAssembly()
+	{
+		return nameAssembly.compiled;
+	}
+	
+	/**
+	 * Chooses what happens when a name cannot be generated. The default is FAIL_FAST.
+	 * 
+	 * @param	policy	The policy for failed names
+	 * @since	1.2
+	 */
+	public void setFailurePolicy(FailurePolicy policy)
+	{
+		if (policy == null)
+			throw new NullPointerException("policy");
+		
+		nameAssembly.failurePolicy = policy;
+	}
+	
+	/**
+	 * @return	The policy for failed names
+	 * @since	1.2
+	 */
+	public FailurePolicy getFailurePolicy()
+	{
+		return nameAssembly.failurePolicy;
+	}
+	
+	/**
+	 * Sets the number of times a failed name is attempted again under the RETRY policy before giving up.
+	 * 
+	 * @param	retries	The number of further attempts, at least 0
+	 * @since	1.2
+	 */
+	public void setMaxRetries(int retries)
+	{
+		if (retries < 0)
+			throw new IllegalArgumentException("Retry count must be non-negative: " + retries);
+		
+		nameAssembly.maxRetries = retries;
+	}
+	
+	/**
+	 * @return	The number of times a failed name is attempted again under the RETRY policy
+	 * @since	1.2
+	 */
+	public int getMaxRetries()
+	{
+		return nameAssembly.maxRetries;
+	}
+	
+	/**
+	 * Returns the number of failed attempts to generate a name from this Phonology so far, from any thread or
+	 * NameGenerator, and whether or not they were later retried successfully.
+	 * 
+	 * @return	The number of failed attempts
+	 * @since	1.2
+	 */
+	public long getFailureCount()
+	{
+		return nameAssembly.failures.sum();
+	}
+	
+	/**
+	 * Returns the fraction of names begun in search of a name within an information content band, from any thread
+	 * or NameGenerator, that were found within their band. Its reciprocal is the average number of names attempted
+	 * for each one returned by makeName(double, double). For bands one nat wide, within the usual range of
+	 * information content, it is typically between 0.6 and 1.
+	 * 
+	 * @return	The acceptance rate of banded names, or NaN if none have been attempted
+	 * @since	1.2
+	 */
+	public double getBandAcceptanceRate()
+	{
+		long attempts = nameAssembly.bandAttempts.sum();
+		return attempts == 0 ? Double.NaN : (double) nameAssembly.bandNames.sum() / attempts;
+	}
+	
+	/**
+	 * Generates and returns a list of random names from this Phonology. Names that fail under the SKIP policy are
+	 * left out, so the list may be shorter than requested.
 	 * 
 	 * @param	number	The number of names to generate
 	 * @return	A List of names, as strings
@@ -1729,8 +1971,9 @@ public class Phonology
 		
 		for (int i = 0; i < number; i++)
 		{
-			Name name = nameAssembly.makeName();
-			names.add(name);
+			Name name = nameAssembly.makeName(rng);
+			if (name != null)
+				names.add(name);
 		}
 			
 		
@@ -1740,6 +1983,200 @@ public class Phonology
 		return names;
 	}
 	
+	/**
+	 * Generates a list of random names from this Phonology, splitting the work across the given number of threads.
+	 * The list is the same for a given Phonology seed and number of names, whatever the number of threads. A new
+	 * ForkJoinPool of that many threads is started and shut down on each call, so callers making many lists should
+	 * create a pool once and pass it to makeNames(int, ForkJoinPool) instead.
+	 * 
+	 * @param	number		The number of names to generate
+	 * @param	parallelism	The number of threads across which to generate names
+	 * @return	A List of names, in a fixed order
+	 * @throws	IllegalArgumentException	If parallelism is less than 1
+	 * @throws	CancellationException		If the calling thread is interrupted while waiting
+	 * @since	1.2
+	 */
+	public List<Name> makeNames(int number, int parallelism)
+	{
+		if (parallelism < 1)
+			throw new IllegalArgumentException("Parallelism must be at least 1: " + parallelism);
+		
+		ForkJoinPool pool = new ForkJoinPool(parallelism);
+		try
+		{
+			return makeNames(number, pool);
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+	
+	/**
+	 * Generates a list of random names from this Phonology, splitting the work across the threads of the given
+	 * pool, which is left running. The list is the same as that of makeNames(int, int) for any pool.
+	 * 
+	 * @param	number	The number of names to generate
+	 * @param	pool	The pool on which to generate names
+	 * @return	A List of names, in a fixed order
+	 * @throws	CancellationException	If the calling thread is interrupted while waiting
+	 * @since	1.2
+	 */
+	public List<Name> makeNames(int number, ForkJoinPool pool)
+	{
+		if (pool == null)
+			throw new NullPointerException("pool");
+		
+		ForkJoinTask<List<Name>> task = pool.submit(() -> names(number).parallel().collect(Collectors.toList()));
+		try
+		{
+			return task.get();
+		}
+		catch (InterruptedException e)
+		{
+			task.cancel(false);
+			Thread.currentThread().interrupt();
+			throw new CancellationException("Interrupted while generating names");
+		}
+		catch (ExecutionException e)
+		{
+			// Names are generated by unchecked code, so the cause is a RuntimeException or an Error
+			Throwable cause = e.getCause();
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw (RuntimeException) cause;
+		}
+	}
+	
+	/**
+	 * Returns a Stream of the given number of random names from this Phonology. The stream is sequential, but may
+	 * be made parallel, in which case its work is divided among independent random number streams derived from
+	 * this Phonology's seed. Either way, the names and their order depend only on the seed and the number of
+	 * names requested.
+	 * 
+	 * @param	number	The number of names in the stream
+	 * @return	A Stream of Names
+	 * @since	1.2
+	 */
+	public Stream<Name> names(long number)
+	{
+		return StreamSupport.stream(new NameSpliterator(this, 0, number), false);
+	}
+	
+	/**
+	 * Returns an infinite Stream of random names from this Phonology, generated lazily as they are consumed. Its
+	 * names begin with those of names(long) for any number, and as with that method depend only on this
+	 * Phonology's seed. The stream must be cut short, e.g. by limit() or a short-circuiting operation, or
+	 * consumed through its iterator().
+	 * 
+	 * @return	An unbounded Stream of Names
+	 * @since	1.2
+	 */
+	public Stream<Name> names()
+	{
+		return names(UNBOUNDED);
+	}
+	
+	/**
+	 * Returns an infinite Stream of random names from this Phonology with repeats removed by the given filter,
+	 * whose counts of names seen and repeated are updated as the stream is consumed. The stream must be cut short
+	 * as for names(), and a limit of more names than the Phonology can make will never be reached.
+	 * 
+	 * @param	filter	The filter by which to remove repeated names
+	 * @return	An unbounded Stream of distinct Names
+	 * @since	1.2
+	 */
+	public Stream<Name> uniqueNames(UniqueNameFilter filter)
+	{
+		return names().filter(filter);
+	}
+	
+	/**
+	 * Returns a Publisher of the given number of random names from this Phonology, which generates names on the
+	 * common fork-join pool only as its Subscribers request them. Every Subscriber receives the same names as
+	 * names(long).
+	 * 
+	 * @param	number	The number of names each Subscriber receives, or UNBOUNDED for no limit
+	 * @return	A Publisher of Names
+	 * @since	1.2
+	 */
+	public NamePublisher publisher(long number)
+	{
+		return new NamePublisher(this, number);
+	}
+	
+	/**
+	 * Estimates how often this Phonology's names repeat, from its inventories and the chances of its name assembly
+	 * flowchart, without generating any names.
+	 * 
+	 * @return	The collision probability of this Phonology's names by number of syllables
+	 * @since	1.2
+	 */
+	public CollisionEstimate estimateCollisions()
+	{
+		return nameAssembly.estimateCollisions();
+	}
+	
+	/**
+	 * Computes the distribution of the number of syllables and the information content of this Phonology's names
+	 * from its inventories and the chances of its name assembly flowchart, without generating any names. The
+	 * result matches that of generating a great many names, up to information content resolved to
+	 * NameDistribution.DEFAULT_BIN_WIDTH.
+	 * 
+	 * @return	The distribution of the number of syllables and information content of names
+	 * @since	1.2
+	 */
+	public NameDistribution computeDistribution()
+	{
+		return computeDistribution(NameDistribution.DEFAULT_BIN_WIDTH);
+	}
+	
+	/**
+	 * Computes the distribution of the number of syllables and the information content of this Phonology's names,
+	 * as for computeDistribution(), with information content resolved to the given bin width. Narrower bins are
+	 * more precise, at a proportional cost in time.
+	 * 
+	 * @param	binWidth	The distance between grid points of information content, in nats
+	 * @return	The distribution of the number of syllables and information content of names
+	 * @throws	IllegalArgumentException	If the bin width is not positive, or too small to compute
+	 * @since	1.2
+	 */
+	public NameDistribution computeDistribution(double binWidth)
+	{
+		return nameAssembly.computeDistribution(binWidth);
+	}
+	
+	/**
+	 * Returns a new NameGenerator drawing from an independent random number stream. The stream's seed is derived
+	 * deterministically from this Phonology's seed and the given stream index, so the same index always yields the
+	 * same sequence of names, and different indices yield statistically independent sequences. Generators share no
+	 * mutable state with the Phonology or with each other, so many threads may generate names from one Phonology at
+	 * once, as long as each uses its own generator.
+	 * 
+	 * @param	stream	The index of the random number stream
+	 * @return	A NameGenerator for the given stream
+	 * @since	1.2
+	 */
+	public NameGenerator newGenerator(long stream)
+	{
+		return new NameGenerator(this, stream);
+	}
+	
+	/**
+	 * Derives the seed for a numbered random number stream from a master seed. The derivation is a SplitMix64
+	 * hash of the pair, so neighboring stream indices produce unrelated seeds, and the result is stable across
+	 * runs and platforms.
+	 * 
+	 * @param	seed	The master seed, typically a Phonology's seed
+	 * @param	stream	The index of the stream
+	 * @return	The seed for the stream
+	 * @since	1.2
+	 */
+	static long deriveSeed(long seed, long stream)
+	{
+		return new SplittableRandom(seed ^ (stream * 0x9E3779B97F4A7C15L)).nextLong();
+	}
+	
 	/**
 	 * Prints various data about the current Phonology in great depth, including the contents of inventories,
 	 * the statistics of the Phonology's stress system, and the chances of light and heavy rimes in weak and
@@ -1826,10 +2263,13 @@ public class Phonology
 	class Phoneme
 	{
 		Segment segment;
+		int index;		// Position of this phoneme in the consonant or vowel inventory
 		
 		// Interlude properties
 		ArrayList<Follower>[] interludes;	// for vowels, the interlude field serve to describe hiatus
+		AliasTable[] interludeTables;		// sampling tables for the interlude lists, one per follower length
 		double[] interludeLengthProbabilities;
+		ArrayList<Constituent>[] leadingClusters;	// clusters of each length that begin with this phoneme
 		
 		// Prominences
 		double onsetInitialProminence;
@@ -2000,6 +2440,22 @@ public class Phonology
 			}
 		}
 		
+		/**
+		 * Creates a bare Phoneme for a Phonology being restored from a snapshot. No prominences are computed,
+		 * as they are only needed while a Phonology is being constructed; the interlude lists start out empty.
+		 * @param	segment			The phonetic segment that characterizes this phoneme
+		 * @param	interludeLengths	The number of interlude lists, one for each follower length
+		 * @since	1.2
+		 */
+		Phoneme(Segment segment, int interludeLengths)
+		{
+			this.segment = segment;
+			
+			interludes = newLists(interludeLengths);
+			for (int i = 0; i < interludeLengths; i++)
+				interludes[i] = new ArrayList<Follower>();
+		}
+		
 		/**
 		 * Adds a SyllableSegment to this Phoneme's interlude inventory. If this Phoneme represents a consonant,
 		 * the SyllableSegment represents an onset that may follow when this Phoneme is used as a coda. If this
@@ -2029,36 +2485,34 @@ public class Phonology
 			if (segment.isConsonant())
 				for (int i = 1; i < maxOnsetLength; i++)
 				{
-					for (Constituent onset : onsets[i])
-						if (onset.content[0] == c.content[0])
-						{
-							// Set base probability equal to the next segment's prominence
-							probability = onset.probability;
-							
-							// Apply offsets, if relevant
-							if (isDissonantNasalCluster(this, onset.content[0]))
-								probability -= nasalDissonanceOffset;
-							
-							if (isUnequalVoicing(this, onset.content[0]))
-								probability -= unequalVoicingOffset;
-							
-							// If probability is positive, add this interlude
-							if (probability > 0)
-								interludes[i].add(new Follower(onset, probability));
-						}
-				}
-			// ... or, if this is a hiatus, look at diphthongs
-			else if (maxNucleusLength == 2)
-				for (Constituent diphthong : nuclei[1])
-					if (diphthong.content[0] == c.content[0])
+					for (Constituent onset : c.content[0].leadingClusters[i])
 					{
 						// Set base probability equal to the next segment's prominence
-						probability = diphthong.probability;
+						probability = onset.probability;
+						
+						// Apply offsets, if relevant
+						if (isDissonantNasalCluster(this, onset.content[0]))
+							probability -= nasalDissonanceOffset;
+						
+						if (isUnequalVoicing(this, onset.content[0]))
+							probability -= unequalVoicingOffset;
 						
 						// If probability is positive, add this interlude
 						if (probability > 0)
-							interludes[1].add(new Follower(diphthong, probability));
+							interludes[i].add(new Follower(onset, probability));
 					}
+				}
+			// ... or, if this is a hiatus, look at diphthongs
+			else if (maxNucleusLength == 2)
+				for (Constituent diphthong : c.content[0].leadingClusters[1])
+				{
+					// Set base probability equal to the next segment's prominence
+					probability = diphthong.probability;
+					
+					// If probability is positive, add this interlude
+					if (probability > 0)
+						interludes[1].add(new Follower(diphthong, probability));
+				}
 			
 //			Print interlude statistics
 //			System.out.printf("%.3f (%.3f + %,3f)", probability, p.interludeFollowProminence, p.onsetInitialProminence);
@@ -2114,44 +2568,29 @@ public class Phonology
 		}
 		
 		/**
-		 * Returns a random interlude of the given length. If no interlude exists of that length, an error is thrown
-		 * and the program exits. Thus, this method should only be called package-internally and in circumstances in
-		 * which it is certain that interludes are available for the given length. 
+		 * Returns a random interlude of the given length. If no interlude exists of that length, an exception is
+		 * thrown. Thus, this method should only be called package-internally and in circumstances in which it is
+		 * certain that interludes are available for the given length. 
 		 * @param	length	The length of following onset/nucleus to be selected
-		 * @return	The selected onset/nucleus
+		 * @param	rng		The random number generator with which to make the selection
+		 * @return	The index of the selected onset/nucleus in interludeTables[length]
+		 * @throws	GenerationException	If there are no interludes of the given length
 		 * @since	1.0
 		 */
-		public Follower pickInterlude(int length)
+		public int pickInterlude(int length, Random rng)
 		{
-			double rand = rng.nextDouble();
-			for (Follower f : interludes[length])
-			{
-				if (rand < f.probability)
-					return f;
-				else
-					rand -= f.probability;
-			}
-			
-			System.err.println("Failed to select follower of length " + (length + 1) + " for phoneme " + this.segment.expression + "!");
-			for (int i = 0; i < interludes[length].size(); i++)
-				System.out.println(interludes[length].get(i));
+			AliasTable followers = (interludeTables == null || length >= interludeTables.length) ? null :
+					interludeTables[length];
+			if (followers != null && followers.size() > 0)
+				return followers.sample(rng);
 			
-			try
-			{
-				throw new Exception();
-			} catch (Exception e)
-			{
-				e.printStackTrace();
-			}
-			
-			System.exit(0);
-			
-			return null;
+			throw new GenerationException("Failed to select follower of length " + (length + 1) + " for phoneme " + this.segment.expression + "!");
 		}
+
 		
 		/**
 		 * Normalizes the probabilities of all interludes to ensure they are fit for usage, then sorts them
-		 * in descending order.
+		 * in descending order. Finally, builds the sampling table for each follower length from the sorted lists.
 		 * @since	1.0
 		 */
 		public void normalizeAndSortInterludes()
@@ -2169,6 +2608,30 @@ public class Phonology
 				Collections.sort(interludeSet);
 				Collections.reverse(interludeSet);
 			}
+			
+			buildInterludeTables();
+		}
+		
+		/**
+		 * Flattens each interlude list into a sampling table. The lists must not be modified afterward, as the
+		 * tables do not reflect later changes to them.
+		 * @since	1.2
+		 */
+		void buildInterludeTables()
+		{
+			interludeTables = new AliasTable[interludes.length];
+			for (int i = 0; i < interludes.length; i++)
+			{
+				Constituent[] content = new Constituent[interludes[i].size()];
+				double[] weights = new double[content.length];
+				for (int j = 0; j < content.length; j++)
+				{
+					content[j] = interludes[i].get(j).c;
+					weights[j] = interludes[i].get(j).probability;
+				}
+				
+				interludeTables[i] = new AliasTable(content, weights);
+			}
 		}
 		
 		/**
@@ -2234,6 +2697,7 @@ public class Phonology
 		ConstituentType type;
 		Phoneme[] content;
 		double probability;
+		double informationContent;	// -log(probability), set once the inventories are final
 				
 		/**
 		 * Constructor sets the syllable segment's essential parameters.
@@ -2259,6 +2723,7 @@ public class Phonology
 			this.type = other.type;
 			this.content = other.content;
 			this.probability = other.probability;
+			this.informationContent = other.informationContent;
 		}
 		
 		/**
@@ -0,0 +1,313 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+import gengenv2.Phonology.Phoneme;
+
+/**
+ * A bounded cache of Phonologies, keyed by seed and configuration, for callers that make a few names at a time
+ * from many languages with a few favorites among them.
+ * 
+ * Each Phonology is weighed by the size of its inventories and interlude lists, which account for most of its
+ * memory, and the least recently used Phonologies are evicted whenever the total weight exceeds the cache's
+ * limit. When several threads ask at once for a Phonology that is not cached, only one of them builds it, and the
+ * rest wait for it rather than building their own.
+ * 
+ * Cached Phonologies are shared between every caller that asks for the same seed and configuration. Since names
+ * drawn by makeName() from a shared Phonology interleave unpredictably between callers, those who need
+ * reproducible names should draw them from a NameGenerator or names() instead; and any caller that changes a
+ * Phonology's settings, such as its FailurePolicy, changes them for everyone.
+ * 
+ * @since	1.2
+ */
+public final class PhonologyCache
+{
+	private final long maxWeight;						// Greatest total weight of the Phonologies kept
+	private final LinkedHashMap<Key, Entry> entries;	// Cached and in-progress Phonologies, least recently used first
+	private long weight;								// Total weight of the Phonologies kept
+	
+	// Statistics
+	private long hits;
+	private long misses;
+	private long evictions;
+	
+	/**
+	 * Creates a cache holding Phonologies up to the given total weight. A Phonology's weight is the number of its
+	 * phonemes, syllable constituents, and interludes, which for most Phonologies is a few hundred.
+	 * 
+	 * @param	maxWeight	The greatest total weight of the Phonologies kept
+	 * @since	1.2
+	 */
+	public PhonologyCache(long maxWeight)
+	{
+		if (maxWeight < 0)
+			throw new IllegalArgumentException("Maximum weight must be non-negative: " + maxWeight);
+		
+		this.maxWeight = maxWeight;
+		this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true);
+	}
+	
+	/**
+	 * Returns the Phonology for the given seed with the default configuration, building it if it is not cached.
+	 * 
+	 * @param	seed	The seed of the Phonology
+	 * @return	The Phonology, as constructed by new Phonology(seed)
+	 * @since	1.2
+	 */
+	public Phonology get(long seed)
+	{
+		return get(seed, PhonologyConfig.DEFAULT);
+	}
+	
+	/**
+	 * Returns the Phonology for the given seed and configuration, building it if it is not cached. If the Phonology
+	 * fails to build, the exception is thrown to every caller waiting for it, and nothing is cached.
+	 * 
+	 * @param	seed	The seed of the Phonology
+	 * @param	config	The tuning parameters of the Phonology
+	 * @return	The Phonology, as constructed by new Phonology(seed, config)
+	 * @since	1.2
+	 */
+	public Phonology get(long seed, PhonologyConfig config)
+	{
+		if (config == null)
+			throw new NullPointerException("config");
+		
+		Key key = new Key(seed, config);
+		Entry entry;
+		boolean builder = false;
+		
+		synchronized (this)
+		{
+			entry = entries.get(key);
+			if (entry != null)
+				hits++;
+			else
+			{
+				misses++;
+				entry = new Entry(key);
+				entries.put(key, entry);
+				builder = true;
+			}
+		}
+		
+		// Build the Phonology outside the lock, so that misses on different keys do not wait for each other
+		if (builder)
+			entry.task.run();
+		
+		Phonology p;
+		try
+		{
+			p = entry.task.get();
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for phonology " + seed, e);
+		}
+		catch (ExecutionException e)
+		{
+			if (builder)
+				synchronized (this)
+				{
+					entries.remove(key, entry);
+				}
+			
+			if (e.getCause() instanceof RuntimeException)
+				throw (RuntimeException) e.getCause();
+			throw (Error) e.getCause();
+		}
+		
+		if (builder)
+			admit(entry, p);
+		
+		return p;
+	}
+	
+	/**
+	 * Counts a newly built Phonology's weight against the cache, then evicts the least recently used Phonologies
+	 * until the total is back under the limit. Entries still being built weigh nothing and are never evicted.
+	 */
+	private synchronized void admit(Entry entry, Phonology p)
+	{
+		// The entry may have been removed by invalidateAll() while its Phonology was being built
+		if (entries.get(entry.key) != entry)
+			return;
+		
+		entry.weight = weigh(p);
+		weight += entry.weight;
+		
+		Iterator<Entry> it = entries.values().iterator();
+		while (weight > maxWeight && it.hasNext())
+		{
+			Entry e = it.next();
+			if (e.weight == 0)
+				continue;
+			
+			it.remove();
+			weight -= e.weight;
+			evictions++;
+		}
+	}
+	
+	/**
+	 * Estimates the memory held by a Phonology by counting its phonemes, syllable constituents, and interludes.
+	 * 
+	 * @param	p	A Phonology
+	 * @return	The weight of the Phonology, at least 1
+	 */
+	static long weigh(Phonology p)
+	{
+		long weight = 1 + p.consonantInventory.length + p.vowelInventory.length;
+		
+		for (ArrayList<?>[] inventory : new ArrayList<?>[][] { p.onsets, p.nuclei, p.codas })
+			if (inventory != null)
+				for (ArrayList<?> list : inventory)
+					weight += list.size();
+		
+		for (Phoneme[] phonemes : new Phoneme[][] { p.consonantInventory, p.vowelInventory })
+			for (Phoneme ph : phonemes)
+				if (ph.interludes != null)
+					for (ArrayList<?> list : ph.interludes)
+						weight += list.size();
+		
+		return weight;
+	}
+	
+	/**
+	 * Removes every Phonology from the cache. Phonologies still being built are handed to the callers waiting for
+	 * them, but not kept.
+	 * @since	1.2
+	 */
+	public synchronized void invalidateAll()
+	{
+		entries.clear();
+		weight = 0;
+	}
+	
+	/**
+	 * @return	The number of Phonologies cached or being built
+	 * @since	1.2
+	 */
+	public synchronized int size()
+	{
+		return entries.size();
+	}
+	
+	/**
+	 * @return	The total weight of the Phonologies cached
+	 * @since	1.2
+	 */
+	public synchronized long getWeight()
+	{
+		return weight;
+	}
+	
+	/**
+	 * @return	The number of requests answered from the cache, including those that waited for another caller
+	 * 			to finish building the Phonology
+	 * @since	1.2
+	 */
+	public synchronized long getHitCount()
+	{
+		return hits;
+	}
+	
+	/**
+	 * @return	The number of requests that had to build their Phonology
+	 * @since	1.2
+	 */
+	public synchronized long getMissCount()
+	{
+		return misses;
+	}
+	
+	/**
+	 * @return	The number of Phonologies evicted to keep the cache under its weight limit
+	 * @since	1.2
+	 */
+	public synchronized long getEvictionCount()
+	{
+		return evictions;
+	}
+	
+	/**
+	 * @return	The fraction of requests answered from the cache, or 0 if there have been none
+	 * @since	1.2
+	 */
+	public synchronized double getHitRate()
+	{
+		long requests = hits + misses;
+		return requests == 0 ? 0 : (double) hits / requests;
+	}
+	
+	/**
+	 * The identity of a cached Phonology: its seed and configuration.
+	 */
+	private static final class Key
+	{
+		final long seed;
+		final PhonologyConfig config;
+		
+		Key(long seed, PhonologyConfig config)
+		{
+			this.seed = seed;
+			this.config = config;
+		}
+		
+		public boolean equals(Object o)
+		{
+			if (!(o instanceof Key))
+				return false;
+			
+			Key k = (Key) o;
+			return seed == k.seed && config.equals(k.config);
+		}
+		
+		public int hashCode()
+		{
+			return Long.hashCode(seed) * 31 + config.hashCode();
+		}
+	}
+	
+	/**
+	 * A cached Phonology, or one being built by the first caller to ask for it.
+	 */
+	private static final class Entry
+	{
+		final Key key;
+		final FutureTask<Phonology> task;
+		long weight;		// The weight of the Phonology, or 0 until it has been built
+		
+		Entry(Key key)
+		{
+			this.key = key;
+			this.task = new FutureTask<Phonology>(() -> new Phonology(key.seed, key.config));
+		}
+	}
+}
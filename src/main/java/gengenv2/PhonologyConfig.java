@@ -0,0 +1,794 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+import java.util.Arrays;
+
+/**
+ * The tuning parameters of the generator: the means, standard deviations, and bounds from which every Phonology
+ * draws the random features that set it apart from the others. Most of them represent the mean and standard
+ * deviation values for Gaussian random numbers.
+ * 
+ * A PhonologyConfig is immutable, so one may be shared freely between Phonologies under construction on any
+ * number of threads. New configurations are made with a Builder, which starts from the default values.
+ * 
+ * @since	1.2
+ */
+public final class PhonologyConfig
+{
+	/**
+	 * The configuration used by Phonologies constructed without one.
+	 */
+	public static final PhonologyConfig DEFAULT = new Builder().build();
+	
+	// Prominence means/stdevs
+	final double prominenceStdev;
+	final double vowelProminenceStdev;
+	final double emptyInitialOnsetProminenceMean;
+	final double emptyInitialOnsetProminenceStdev;
+	final double onsetClusterProminenceMean;
+	final double onsetClusterProminenceStdev;
+	final double clusterLeadStdev;
+	final double clusterFollowStdev;
+	final double nucleusLeadStdev;
+	final double nucleusFollowStdev;
+	
+	// Bounding values
+	final double minimumOnsetClusterProminence;
+	final double minimumNucleusClusterProminence;
+	final double minimumCodaClusterProminence;
+	
+	// Offset means/stdevs
+	final double codaOffsetMean;
+	final double codaOffsetStdev;
+	final double onsetNgOffsetMean;
+	final double onsetNgOffsetStdev;
+	final double onsetTlDlOffsetMean;
+	final double onsetTlDlOffsetStdev;
+	final double codaGlottalStopOffsetMean;
+	final double codaGlottalStopOffsetStdev;
+	final double nasalDissonanceOffsetMean;
+	final double nasalDissonanceOffsetStdev;
+	final double unequalVoicingOffsetMean;
+	final double unequalVoicingOffsetStdev;
+	final double hiatusOffsetStdev;
+	final double interludeOffsetStdev;
+	
+	// Base occurrence chance means/stdevs
+	final double strongHeavyRimeChanceMean;
+	final double strongHeavyRimeChanceStdev;
+	final double weakHeavyRimeChanceMean;
+	final double weakHeavyRimeChanceStdev;
+	final double baseCodaChanceMean;
+	final double baseCodaChanceStdev;
+	final double codaLocationBalanceMean;
+	final double codaLocationBalanceStdev;
+	final double baseOnsetChanceMean;
+	final double baseOnsetChanceStdev;
+	final double baseOnsetChanceOffset;
+	
+	private final int hash;		// Hash of every parameter, for use as part of a cache key
+	
+	private PhonologyConfig(Builder b)
+	{
+		prominenceStdev						= b.prominenceStdev;
+		vowelProminenceStdev				= b.vowelProminenceStdev;
+		emptyInitialOnsetProminenceMean		= b.emptyInitialOnsetProminenceMean;
+		emptyInitialOnsetProminenceStdev	= b.emptyInitialOnsetProminenceStdev;
+		onsetClusterProminenceMean			= b.onsetClusterProminenceMean;
+		onsetClusterProminenceStdev			= b.onsetClusterProminenceStdev;
+		clusterLeadStdev					= b.clusterLeadStdev;
+		clusterFollowStdev					= b.clusterFollowStdev;
+		nucleusLeadStdev					= b.nucleusLeadStdev;
+		nucleusFollowStdev					= b.nucleusFollowStdev;
+		minimumOnsetClusterProminence		= b.minimumOnsetClusterProminence;
+		minimumNucleusClusterProminence		= b.minimumNucleusClusterProminence;
+		minimumCodaClusterProminence		= b.minimumCodaClusterProminence;
+		codaOffsetMean						= b.codaOffsetMean;
+		codaOffsetStdev						= b.codaOffsetStdev;
+		onsetNgOffsetMean					= b.onsetNgOffsetMean;
+		onsetNgOffsetStdev					= b.onsetNgOffsetStdev;
+		onsetTlDlOffsetMean					= b.onsetTlDlOffsetMean;
+		onsetTlDlOffsetStdev				= b.onsetTlDlOffsetStdev;
+		codaGlottalStopOffsetMean			= b.codaGlottalStopOffsetMean;
+		codaGlottalStopOffsetStdev			= b.codaGlottalStopOffsetStdev;
+		nasalDissonanceOffsetMean			= b.nasalDissonanceOffsetMean;
+		nasalDissonanceOffsetStdev			= b.nasalDissonanceOffsetStdev;
+		unequalVoicingOffsetMean			= b.unequalVoicingOffsetMean;
+		unequalVoicingOffsetStdev			= b.unequalVoicingOffsetStdev;
+		hiatusOffsetStdev					= b.hiatusOffsetStdev;
+		interludeOffsetStdev				= b.interludeOffsetStdev;
+		strongHeavyRimeChanceMean			= b.strongHeavyRimeChanceMean;
+		strongHeavyRimeChanceStdev			= b.strongHeavyRimeChanceStdev;
+		weakHeavyRimeChanceMean				= b.weakHeavyRimeChanceMean;
+		weakHeavyRimeChanceStdev			= b.weakHeavyRimeChanceStdev;
+		baseCodaChanceMean					= b.baseCodaChanceMean;
+		baseCodaChanceStdev					= b.baseCodaChanceStdev;
+		codaLocationBalanceMean				= b.codaLocationBalanceMean;
+		codaLocationBalanceStdev			= b.codaLocationBalanceStdev;
+		baseOnsetChanceMean					= b.baseOnsetChanceMean;
+		baseOnsetChanceStdev				= b.baseOnsetChanceStdev;
+		baseOnsetChanceOffset				= b.baseOnsetChanceOffset;
+		hash								= Arrays.hashCode(values());
+	}
+	
+	/**
+	 * @return	Every parameter of this configuration, in the order in which they are declared
+	 */
+	private double[] values()
+	{
+		return new double[]
+		{
+			prominenceStdev,
+			vowelProminenceStdev,
+			emptyInitialOnsetProminenceMean,
+			emptyInitialOnsetProminenceStdev,
+			onsetClusterProminenceMean,
+			onsetClusterProminenceStdev,
+			clusterLeadStdev,
+			clusterFollowStdev,
+			nucleusLeadStdev,
+			nucleusFollowStdev,
+			minimumOnsetClusterProminence,
+			minimumNucleusClusterProminence,
+			minimumCodaClusterProminence,
+			codaOffsetMean,
+			codaOffsetStdev,
+			onsetNgOffsetMean,
+			onsetNgOffsetStdev,
+			onsetTlDlOffsetMean,
+			onsetTlDlOffsetStdev,
+			codaGlottalStopOffsetMean,
+			codaGlottalStopOffsetStdev,
+			nasalDissonanceOffsetMean,
+			nasalDissonanceOffsetStdev,
+			unequalVoicingOffsetMean,
+			unequalVoicingOffsetStdev,
+			hiatusOffsetStdev,
+			interludeOffsetStdev,
+			strongHeavyRimeChanceMean,
+			strongHeavyRimeChanceStdev,
+			weakHeavyRimeChanceMean,
+			weakHeavyRimeChanceStdev,
+			baseCodaChanceMean,
+			baseCodaChanceStdev,
+			codaLocationBalanceMean,
+			codaLocationBalanceStdev,
+			baseOnsetChanceMean,
+			baseOnsetChanceStdev,
+			baseOnsetChanceOffset
+		};
+	}
+	
+	/**
+	 * Two configurations are equal if all of their parameters are, so that Phonologies built from the same seed
+	 * with either are identical.
+	 * @since	1.2
+	 */
+	public boolean equals(Object o)
+	{
+		return o == this || (o instanceof PhonologyConfig && Arrays.equals(values(), ((PhonologyConfig) o).values()));
+	}
+	
+	/**
+	 * @return	A hash of every parameter of this configuration
+	 * @since	1.2
+	 */
+	public int hashCode()
+	{
+		return hash;
+	}
+	
+	/**
+	 * @return	A new Builder, starting from the default configuration
+	 * @since	1.2
+	 */
+	public static Builder builder()
+	{
+		return new Builder();
+	}
+	
+	/**
+	 * @return	A new Builder, starting from this configuration
+	 * @since	1.2
+	 */
+	public Builder toBuilder()
+	{
+		Builder b = new Builder();
+		b.prominenceStdev					= prominenceStdev;
+		b.vowelProminenceStdev				= vowelProminenceStdev;
+		b.emptyInitialOnsetProminenceMean	= emptyInitialOnsetProminenceMean;
+		b.emptyInitialOnsetProminenceStdev	= emptyInitialOnsetProminenceStdev;
+		b.onsetClusterProminenceMean		= onsetClusterProminenceMean;
+		b.onsetClusterProminenceStdev		= onsetClusterProminenceStdev;
+		b.clusterLeadStdev					= clusterLeadStdev;
+		b.clusterFollowStdev				= clusterFollowStdev;
+		b.nucleusLeadStdev					= nucleusLeadStdev;
+		b.nucleusFollowStdev				= nucleusFollowStdev;
+		b.minimumOnsetClusterProminence		= minimumOnsetClusterProminence;
+		b.minimumNucleusClusterProminence	= minimumNucleusClusterProminence;
+		b.minimumCodaClusterProminence		= minimumCodaClusterProminence;
+		b.codaOffsetMean					= codaOffsetMean;
+		b.codaOffsetStdev					= codaOffsetStdev;
+		b.onsetNgOffsetMean					= onsetNgOffsetMean;
+		b.onsetNgOffsetStdev				= onsetNgOffsetStdev;
+		b.onsetTlDlOffsetMean				= onsetTlDlOffsetMean;
+		b.onsetTlDlOffsetStdev				= onsetTlDlOffsetStdev;
+		b.codaGlottalStopOffsetMean			= codaGlottalStopOffsetMean;
+		b.codaGlottalStopOffsetStdev		= codaGlottalStopOffsetStdev;
+		b.nasalDissonanceOffsetMean			= nasalDissonanceOffsetMean;
+		b.nasalDissonanceOffsetStdev		= nasalDissonanceOffsetStdev;
+		b.unequalVoicingOffsetMean			= unequalVoicingOffsetMean;
+		b.unequalVoicingOffsetStdev			= unequalVoicingOffsetStdev;
+		b.hiatusOffsetStdev					= hiatusOffsetStdev;
+		b.interludeOffsetStdev				= interludeOffsetStdev;
+		b.strongHeavyRimeChanceMean			= strongHeavyRimeChanceMean;
+		b.strongHeavyRimeChanceStdev		= strongHeavyRimeChanceStdev;
+		b.weakHeavyRimeChanceMean			= weakHeavyRimeChanceMean;
+		b.weakHeavyRimeChanceStdev			= weakHeavyRimeChanceStdev;
+		b.baseCodaChanceMean				= baseCodaChanceMean;
+		b.baseCodaChanceStdev				= baseCodaChanceStdev;
+		b.codaLocationBalanceMean			= codaLocationBalanceMean;
+		b.codaLocationBalanceStdev			= codaLocationBalanceStdev;
+		b.baseOnsetChanceMean				= baseOnsetChanceMean;
+		b.baseOnsetChanceStdev				= baseOnsetChanceStdev;
+		b.baseOnsetChanceOffset				= baseOnsetChanceOffset;
+		return b;
+	}
+	
+	/**
+	 * Collects tuning parameters for a new PhonologyConfig. Every parameter starts at its default value; a
+	 * Builder may be reused after build() is called, and later changes do not affect configurations already
+	 * built.
+	 * @since	1.2
+	 */
+	public static final class Builder
+	{
+		// Prominence means/stdevs
+		private double prominenceStdev					= 0.60;
+		private double vowelProminenceStdev				= 0.50;
+		private double emptyInitialOnsetProminenceMean	= 0.3;
+		private double emptyInitialOnsetProminenceStdev	= 0.15;
+		private double onsetClusterProminenceMean		= 0.1;
+		private double onsetClusterProminenceStdev		= 0.05;
+		private double clusterLeadStdev					= 0.50;
+		private double clusterFollowStdev				= 0.50;
+		private double nucleusLeadStdev					= 0.50;
+		private double nucleusFollowStdev				= 0.50;
+		
+		// Bounding values
+		private double minimumOnsetClusterProminence	= 0.01;
+		private double minimumNucleusClusterProminence	= 0.01;
+		private double minimumCodaClusterProminence		= 0.01;
+		
+		// Offset means/stdevs
+		private double codaOffsetMean					= 0.4;
+		private double codaOffsetStdev					= 0.4;
+		private double onsetNgOffsetMean				= 2;
+		private double onsetNgOffsetStdev				= 1;
+		private double onsetTlDlOffsetMean				= 1;
+		private double onsetTlDlOffsetStdev				= 0.5;
+		private double codaGlottalStopOffsetMean		= 2;
+		private double codaGlottalStopOffsetStdev		= 1;
+		private double nasalDissonanceOffsetMean		= 2;
+		private double nasalDissonanceOffsetStdev		= 1;
+		private double unequalVoicingOffsetMean			= 1.25;
+		private double unequalVoicingOffsetStdev		= 0.5;
+		private double hiatusOffsetStdev				= 0.15;
+		private double interludeOffsetStdev				= 0.15;
+		
+		// Base occurrence chance means/stdevs
+		private double strongHeavyRimeChanceMean		= 0.8;
+		private double strongHeavyRimeChanceStdev		= 0.2;
+		private double weakHeavyRimeChanceMean			= 0.3;
+		private double weakHeavyRimeChanceStdev			= 0.15;
+		private double baseCodaChanceMean				= -0.5;
+		private double baseCodaChanceStdev				= 0.5;
+		private double codaLocationBalanceMean			= 0.4;
+		private double codaLocationBalanceStdev			= 0.33;
+		private double baseOnsetChanceMean				= 0;
+		private double baseOnsetChanceStdev				= 0.1;
+		private double baseOnsetChanceOffset			= 0.8;
+		
+		private Builder()
+		{
+			
+		}
+		
+		/**
+		 * @param	value	The new value of prominenceStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder prominenceStdev(double value)
+		{
+			prominenceStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of vowelProminenceStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder vowelProminenceStdev(double value)
+		{
+			vowelProminenceStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of emptyInitialOnsetProminenceMean
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder emptyInitialOnsetProminenceMean(double value)
+		{
+			emptyInitialOnsetProminenceMean = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of emptyInitialOnsetProminenceStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder emptyInitialOnsetProminenceStdev(double value)
+		{
+			emptyInitialOnsetProminenceStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of onsetClusterProminenceMean
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder onsetClusterProminenceMean(double value)
+		{
+			onsetClusterProminenceMean = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of onsetClusterProminenceStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder onsetClusterProminenceStdev(double value)
+		{
+			onsetClusterProminenceStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of clusterLeadStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder clusterLeadStdev(double value)
+		{
+			clusterLeadStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of clusterFollowStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder clusterFollowStdev(double value)
+		{
+			clusterFollowStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of nucleusLeadStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder nucleusLeadStdev(double value)
+		{
+			nucleusLeadStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of nucleusFollowStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder nucleusFollowStdev(double value)
+		{
+			nucleusFollowStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of minimumOnsetClusterProminence
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder minimumOnsetClusterProminence(double value)
+		{
+			minimumOnsetClusterProminence = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of minimumNucleusClusterProminence
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder minimumNucleusClusterProminence(double value)
+		{
+			minimumNucleusClusterProminence = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of minimumCodaClusterProminence
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder minimumCodaClusterProminence(double value)
+		{
+			minimumCodaClusterProminence = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of codaOffsetMean
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder codaOffsetMean(double value)
+		{
+			codaOffsetMean = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of codaOffsetStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder codaOffsetStdev(double value)
+		{
+			codaOffsetStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of onsetNgOffsetMean
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder onsetNgOffsetMean(double value)
+		{
+			onsetNgOffsetMean = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of onsetNgOffsetStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder onsetNgOffsetStdev(double value)
+		{
+			onsetNgOffsetStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of onsetTlDlOffsetMean
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder onsetTlDlOffsetMean(double value)
+		{
+			onsetTlDlOffsetMean = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of onsetTlDlOffsetStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder onsetTlDlOffsetStdev(double value)
+		{
+			onsetTlDlOffsetStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of codaGlottalStopOffsetMean
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder codaGlottalStopOffsetMean(double value)
+		{
+			codaGlottalStopOffsetMean = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of codaGlottalStopOffsetStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder codaGlottalStopOffsetStdev(double value)
+		{
+			codaGlottalStopOffsetStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of nasalDissonanceOffsetMean
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder nasalDissonanceOffsetMean(double value)
+		{
+			nasalDissonanceOffsetMean = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of nasalDissonanceOffsetStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder nasalDissonanceOffsetStdev(double value)
+		{
+			nasalDissonanceOffsetStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of unequalVoicingOffsetMean
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder unequalVoicingOffsetMean(double value)
+		{
+			unequalVoicingOffsetMean = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of unequalVoicingOffsetStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder unequalVoicingOffsetStdev(double value)
+		{
+			unequalVoicingOffsetStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of hiatusOffsetStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder hiatusOffsetStdev(double value)
+		{
+			hiatusOffsetStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of interludeOffsetStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder interludeOffsetStdev(double value)
+		{
+			interludeOffsetStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of strongHeavyRimeChanceMean
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder strongHeavyRimeChanceMean(double value)
+		{
+			strongHeavyRimeChanceMean = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of strongHeavyRimeChanceStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder strongHeavyRimeChanceStdev(double value)
+		{
+			strongHeavyRimeChanceStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of weakHeavyRimeChanceMean
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder weakHeavyRimeChanceMean(double value)
+		{
+			weakHeavyRimeChanceMean = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of weakHeavyRimeChanceStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder weakHeavyRimeChanceStdev(double value)
+		{
+			weakHeavyRimeChanceStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of baseCodaChanceMean
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder baseCodaChanceMean(double value)
+		{
+			baseCodaChanceMean = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of baseCodaChanceStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder baseCodaChanceStdev(double value)
+		{
+			baseCodaChanceStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of codaLocationBalanceMean
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder codaLocationBalanceMean(double value)
+		{
+			codaLocationBalanceMean = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of codaLocationBalanceStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder codaLocationBalanceStdev(double value)
+		{
+			codaLocationBalanceStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of baseOnsetChanceMean
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder baseOnsetChanceMean(double value)
+		{
+			baseOnsetChanceMean = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of baseOnsetChanceStdev
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder baseOnsetChanceStdev(double value)
+		{
+			baseOnsetChanceStdev = value;
+			return this;
+		}
+		
+		/**
+		 * @param	value	The new value of baseOnsetChanceOffset
+		 * @return	This Builder
+		 * @since	1.2
+		 */
+		public Builder baseOnsetChanceOffset(double value)
+		{
+			baseOnsetChanceOffset = value;
+			return this;
+		}
+		
+		/**
+		 * @return	A PhonologyConfig holding the parameters set so far
+		 * @throws	IllegalArgumentException	If any parameter is not finite, or any standard deviation is negative
+		 * @since	1.2
+		 */
+		public PhonologyConfig build()
+		{
+			check("prominenceStdev", prominenceStdev);
+			check("vowelProminenceStdev", vowelProminenceStdev);
+			check("emptyInitialOnsetProminenceMean", emptyInitialOnsetProminenceMean);
+			check("emptyInitialOnsetProminenceStdev", emptyInitialOnsetProminenceStdev);
+			check("onsetClusterProminenceMean", onsetClusterProminenceMean);
+			check("onsetClusterProminenceStdev", onsetClusterProminenceStdev);
+			check("clusterLeadStdev", clusterLeadStdev);
+			check("clusterFollowStdev", clusterFollowStdev);
+			check("nucleusLeadStdev", nucleusLeadStdev);
+			check("nucleusFollowStdev", nucleusFollowStdev);
+			check("minimumOnsetClusterProminence", minimumOnsetClusterProminence);
+			check("minimumNucleusClusterProminence", minimumNucleusClusterProminence);
+			check("minimumCodaClusterProminence", minimumCodaClusterProminence);
+			check("codaOffsetMean", codaOffsetMean);
+			check("codaOffsetStdev", codaOffsetStdev);
+			check("onsetNgOffsetMean", onsetNgOffsetMean);
+			check("onsetNgOffsetStdev", onsetNgOffsetStdev);
+			check("onsetTlDlOffsetMean", onsetTlDlOffsetMean);
+			check("onsetTlDlOffsetStdev", onsetTlDlOffsetStdev);
+			check("codaGlottalStopOffsetMean", codaGlottalStopOffsetMean);
+			check("codaGlottalStopOffsetStdev", codaGlottalStopOffsetStdev);
+			check("nasalDissonanceOffsetMean", nasalDissonanceOffsetMean);
+			check("nasalDissonanceOffsetStdev", nasalDissonanceOffsetStdev);
+			check("unequalVoicingOffsetMean", unequalVoicingOffsetMean);
+			check("unequalVoicingOffsetStdev", unequalVoicingOffsetStdev);
+			check("hiatusOffsetStdev", hiatusOffsetStdev);
+			check("interludeOffsetStdev", interludeOffsetStdev);
+			check("strongHeavyRimeChanceMean", strongHeavyRimeChanceMean);
+			check("strongHeavyRimeChanceStdev", strongHeavyRimeChanceStdev);
+			check("weakHeavyRimeChanceMean", weakHeavyRimeChanceMean);
+			check("weakHeavyRimeChanceStdev", weakHeavyRimeChanceStdev);
+			check("baseCodaChanceMean", baseCodaChanceMean);
+			check("baseCodaChanceStdev", baseCodaChanceStdev);
+			check("codaLocationBalanceMean", codaLocationBalanceMean);
+			check("codaLocationBalanceStdev", codaLocationBalanceStdev);
+			check("baseOnsetChanceMean", baseOnsetChanceMean);
+			check("baseOnsetChanceStdev", baseOnsetChanceStdev);
+			check("baseOnsetChanceOffset", baseOnsetChanceOffset);
+			
+			return new PhonologyConfig(this);
+		}
+		
+		/**
+		 * Rejects a parameter that is not finite, or a standard deviation that is negative.
+		 */
+		private static void check(String name, double value)
+		{
+			if (Double.isNaN(value) || Double.isInfinite(value))
+				throw new IllegalArgumentException(name + " must be finite: " + value);
+			if (name.endsWith("Stdev") && value < 0)
+				throw new IllegalArgumentException(name + " must not be negative: " + value);
+		}
+	}
+}
@@ -0,0 +1,224 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Builds Phonologies in bulk. Every Phonology is constructed independently of the others, so a batch is split
+ * into one task per seed and run on the factory's executor. Results are returned in the order of the seeds they
+ * were built from, whatever order the tasks happen to finish in.
+ * 
+ * A Phonology that fails to build does not affect the rest of its batch: its Result carries the exception
+ * that stopped it in place of the Phonology.
+ * 
+ * @since	1.2
+ */
+public final class PhonologyFactory
+{
+	private final Executor executor;
+	private final PhonologyConfig config;
+	
+	/**
+	 * Creates a factory that builds Phonologies with the default configuration on the common fork-join pool.
+	 * @since	1.2
+	 */
+	public PhonologyFactory()
+	{
+		this(ForkJoinPool.commonPool());
+	}
+	
+	/**
+	 * Creates a factory that builds Phonologies with the default configuration on the given executor.
+	 * @param	executor	The executor on which each Phonology is constructed
+	 * @since	1.2
+	 */
+	public PhonologyFactory(Executor executor)
+	{
+		this(executor, PhonologyConfig.DEFAULT);
+	}
+	
+	/**
+	 * Creates a factory that builds Phonologies with the given configuration on the given executor.
+	 * @param	executor	The executor on which each Phonology is constructed
+	 * @param	config		The tuning parameters shared by every Phonology the factory builds
+	 * @since	1.2
+	 */
+	public PhonologyFactory(Executor executor, PhonologyConfig config)
+	{
+		if (executor == null)
+			throw new NullPointerException("executor");
+		if (config == null)
+			throw new NullPointerException("config");
+		
+		this.executor = executor;
+		this.config = config;
+	}
+	
+	/**
+	 * Builds a Phonology from each of the given seeds, blocking until all have finished. If the calling thread is
+	 * interrupted while waiting, any tasks that have not yet started are cancelled.
+	 * @param	seeds	The seeds from which to build Phonologies
+	 * @return	One Result for each seed, in the same order as the seeds
+	 * @throws	CancellationException	If the calling thread is interrupted while waiting
+	 * @since	1.2
+	 */
+	public List<Result> build(long... seeds)
+	{
+		List<FutureTask<Result>> tasks = new ArrayList<FutureTask<Result>>(seeds.length);
+		for (long seed : seeds)
+		{
+			FutureTask<Result> task = new FutureTask<Result>(() -> buildOne(seed));
+			executor.execute(task);
+			tasks.add(task);
+		}
+		
+		List<Result> results = new ArrayList<Result>(seeds.length);
+		try
+		{
+			for (FutureTask<Result> task : tasks)
+				results.add(task.get());
+		}
+		catch (InterruptedException e)
+		{
+			for (FutureTask<Result> task : tasks)
+				task.cancel(false);
+			Thread.currentThread().interrupt();
+			throw new CancellationException("Interrupted while building phonologies");
+		}
+		catch (ExecutionException e)
+		{
+			// Failures of individual Phonologies are caught in buildOne(); anything else is an Error
+			throw (Error) e.getCause();
+		}
+		
+		return results;
+	}
+	
+	/**
+	 * Builds a Phonology from each seed in a consecutive range, blocking until all have finished.
+	 * @param	firstSeed	The first seed in the range
+	 * @param	count		The number of seeds in the range
+	 * @return	One Result for each seed, in ascending order of seed
+	 * @since	1.2
+	 */
+	public List<Result> build(long firstSeed, int count)
+	{
+		long[] seeds = new long[count];
+		for (int i = 0; i < count; i++)
+			seeds[i] = firstSeed + i;
+		
+		return build(seeds);
+	}
+	
+	/**
+	 * Builds a single Phonology on the calling thread, capturing any failure and the time taken in the Result.
+	 * @param	seed	The seed from which to build the Phonology
+	 * @return	The Result of building the Phonology
+	 * @since	1.2
+	 */
+	private Result buildOne(long seed)
+	{
+		long start = System.nanoTime();
+		try
+		{
+			Phonology phonology = new Phonology(seed, config);
+			return new Result(seed, phonology, null, System.nanoTime() - start);
+		}
+		catch (RuntimeException e)
+		{
+			return new Result(seed, null, e, System.nanoTime() - start);
+		}
+	}
+	
+	/**
+	 * The outcome of building one Phonology: either the Phonology itself, or the exception that prevented it
+	 * from being built.
+	 * @since	1.2
+	 */
+	public static final class Result
+	{
+		private final long seed;
+		private final Phonology phonology;
+		private final RuntimeException error;
+		private final long buildTime;
+		
+		Result(long seed, Phonology phonology, RuntimeException error, long buildTime)
+		{
+			this.seed = seed;
+			this.phonology = phonology;
+			this.error = error;
+			this.buildTime = buildTime;
+		}
+		
+		/**
+		 * @return	The seed from which the Phonology was built
+		 * @since	1.2
+		 */
+		public long getSeed()
+		{
+			return seed;
+		}
+		
+		/**
+		 * @return	The Phonology, or null if it could not be built
+		 * @since	1.2
+		 */
+		public Phonology getPhonology()
+		{
+			return phonology;
+		}
+		
+		/**
+		 * @return	The exception that prevented the Phonology from being built, or null if it was built
+		 * @since	1.2
+		 */
+		public RuntimeException getError()
+		{
+			return error;
+		}
+		
+		/**
+		 * @return	The time spent building the Phonology, or failing to, in nanoseconds, not counting any time the
+		 * 			build spent waiting for a thread
+		 * @since	1.2
+		 */
+		public long getBuildTime()
+		{
+			return buildTime;
+		}
+		
+		/**
+		 * @return	True if the Phonology was built successfully
+		 * @since	1.2
+		 */
+		public boolean isSuccessful()
+		{
+			return error == null;
+		}
+	}
+}
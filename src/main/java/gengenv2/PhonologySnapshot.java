@@ -0,0 +1,456 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+
+import gengenv2.Phonology.Constituent;
+import gengenv2.Phonology.Phoneme;
+import gengenv2.Phonology.Phoneme.Follower;
+import gengenv2.StressRules.PrimaryStress;
+import gengenv2.StressRules.StressHead;
+import gengenv2.StressRules.StressRhythm;
+
+/**
+ * A compact binary format for storing fully constructed Phonologies, so that they can be restored by reading
+ * their finished inventories back rather than by reconstructing them from their seeds.
+ * 
+ * A snapshot records everything a Phonology needs to make names: its phonemic inventories, every onset, nucleus,
+ * and coda with its probability, the interludes and hiatus that may follow each phoneme, the base chances and
+ * cluster probabilities from which the name assembly flowchart is weighted, and the stress rules. Sampling tables
+ * and the flowchart itself are not stored, as they are rebuilt cheaply and deterministically from these values.
+ * Any number of snapshots may be written back to back in a single file, which is memory-mapped when read.
+ * 
+ * Every snapshot begins with a magic number and a format version; snapshots of any other version are rejected
+ * rather than misread. All values are big-endian.
+ * 
+ * @since	1.2
+ */
+public final class PhonologySnapshot
+{
+	static final int MAGIC		= 0x47475048;	// "GGPH"
+	static final short VERSION	= 1;
+	
+	private PhonologySnapshot()
+	{
+		
+	}
+	
+	/**
+	 * Encodes a single Phonology as a snapshot.
+	 * @param	p	The Phonology to be encoded
+	 * @return	A buffer holding the snapshot, positioned at its start
+	 * @since	1.2
+	 */
+	public static ByteBuffer encode(Phonology p)
+	{
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try
+		{
+			write(p, new DataOutputStream(bytes));
+		}
+		catch (IOException e)
+		{
+			throw new UncheckedIOException(e);		// Never thrown by a ByteArrayOutputStream
+		}
+		
+		return ByteBuffer.wrap(bytes.toByteArray());
+	}
+	
+	/**
+	 * Writes a snapshot of each of the given Phonologies to a file, one after another, replacing any existing
+	 * contents of the file.
+	 * @param	phonologies	The Phonologies to be written
+	 * @param	file		The file to which the snapshots are written
+	 * @throws	IOException	If the file cannot be written
+	 * @since	1.2
+	 */
+	public static void write(Collection<Phonology> phonologies, Path file) throws IOException
+	{
+		try (OutputStream os = Files.newOutputStream(file))
+		{
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os));
+			for (Phonology p : phonologies)
+				write(p, out);
+			out.flush();
+		}
+	}
+	
+	/**
+	 * Decodes the snapshot at the buffer's current position, and advances the buffer past it.
+	 * @param	buffer	A buffer positioned at the start of a snapshot
+	 * @return	The restored Phonology
+	 * @throws	IllegalArgumentException	If the buffer does not hold a snapshot of a supported version
+	 * @since	1.2
+	 */
+	public static Phonology decode(ByteBuffer buffer)
+	{
+		return new Phonology(buffer);
+	}
+	
+	/**
+	 * Restores every Phonology in a file of snapshots. The file is memory-mapped rather than read onto the heap,
+	 * so the cost of restoration is little more than that of paging the file in.
+	 * @param	file	A file written by write()
+	 * @return	The restored Phonologies, in the order in which they were written
+	 * @throws	IOException	If the file cannot be read
+	 * @throws	IllegalArgumentException	If the file contains anything other than supported snapshots
+	 * @since	1.2
+	 */
+	public static List<Phonology> read(Path file) throws IOException
+	{
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ))
+		{
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+		
+		List<Phonology> result = new ArrayList<Phonology>();
+		while (buffer.hasRemaining())
+			result.add(decode(buffer));
+		
+		return result;
+	}
+	
+	/**
+	 * Writes a single snapshot to the given stream. Syllable segments are written once, to a table, and are
+	 * referred to by their position in that table everywhere else, so that segments shared between the
+	 * inventories and the interlude lists remain shared once restored.
+	 * @param	p	The Phonology to be written
+	 * @param	out	The stream to which the snapshot is written
+	 * @throws	IOException	If the stream cannot be written
+	 * @since	1.2
+	 */
+	static void write(Phonology p, DataOutputStream out) throws IOException
+	{
+		out.writeInt(MAGIC);
+		out.writeShort(VERSION);
+		out.writeLong(p.getSeed());
+		
+		// Syllable structure
+		out.writeByte(p.maxOnsetLength);
+		out.writeByte(p.maxNucleusLength);
+		out.writeByte(p.maxCodaLength);
+		
+		// Base chances
+		out.writeDouble(p.baseOnsetClusterChance);
+		out.writeDouble(p.baseCodaClusterChance);
+		out.writeDouble(p.baseDiphthongChance);
+		out.writeDouble(p.strongHeavyRimeChance);
+		out.writeDouble(p.strongLightRimeChance);
+		out.writeDouble(p.weakHeavyRimeChance);
+		out.writeDouble(p.weakLightRimeChance);
+		out.writeDouble(p.baseEmptyInitialOnsetChance);
+		out.writeDouble(p.baseMedialOnsetChance);
+		out.writeDouble(p.baseMedialCodaChance);
+		out.writeDouble(p.baseTerminalCodaChance);
+		
+		// Cluster length probabilities
+		out.writeDouble(p.simpleOnsetProbability);
+		out.writeDouble(p.simpleCodaProbability);
+		writeDoubles(p.onsetClusterLengthProbabilities, out);
+		writeDoubles(p.codaClusterLengthProbabilities, out);
+		
+		// Statistics
+		out.writeByte(p.counts.length);
+		for (int count : p.counts)
+			out.writeInt(count);
+		
+		// Phonemic inventories
+		writePhonemes(p.consonantInventory, out);
+		writePhonemes(p.vowelInventory, out);
+		
+		// Syllable segment table, in order of first appearance: inventories first, then interludes
+		IdentityHashMap<Constituent, Integer> ids = new IdentityHashMap<Constituent, Integer>();
+		List<Constituent> table = new ArrayList<Constituent>();
+		for (ArrayList<Constituent>[] lists : inventories(p))
+			for (ArrayList<Constituent> list : lists)
+				for (Constituent c : list)
+					register(c, ids, table);
+		for (Phoneme[] inventory : new Phoneme[][] { p.consonantInventory, p.vowelInventory })
+			for (Phoneme ph : inventory)
+				for (ArrayList<Follower> list : ph.interludes)
+					for (Follower f : list)
+						register(f.c, ids, table);
+		
+		out.writeInt(table.size());
+		for (Constituent c : table)
+		{
+			out.writeByte(c.type.ordinal());
+			out.writeByte(c.content.length);
+			for (Phoneme ph : c.content)
+				out.writeByte(ph.index);
+			out.writeDouble(c.probability);
+		}
+		
+		// Syllable segment inventories
+		for (ArrayList<Constituent>[] lists : inventories(p))
+		{
+			out.writeByte(lists.length);
+			for (ArrayList<Constituent> list : lists)
+			{
+				out.writeInt(list.size());
+				for (Constituent c : list)
+					out.writeInt(ids.get(c));
+			}
+		}
+		
+		// Interludes and hiatus
+		for (Phoneme[] inventory : new Phoneme[][] { p.consonantInventory, p.vowelInventory })
+			for (Phoneme ph : inventory)
+			{
+				writeDoubles(ph.interludeLengthProbabilities, out);
+				out.writeBoolean(ph.interludeTables != null);
+				out.writeByte(ph.interludes.length);
+				for (ArrayList<Follower> list : ph.interludes)
+				{
+					out.writeInt(list.size());
+					for (Follower f : list)
+					{
+						out.writeInt(ids.get(f.c));
+						out.writeDouble(f.probability);
+					}
+				}
+			}
+		
+		// Stress rules
+		StressRules sr = p.stressRules;
+		out.writeByte(sr.stressHead.ordinal());
+		out.writeByte(sr.stressRhythm.ordinal());
+		out.writeByte(sr.primaryStress.ordinal());
+		out.writeBoolean(sr.quantitySensitive);
+		out.writeBoolean(sr.allowClashes);
+		out.writeBoolean(sr.externalExtrametricality);
+		out.writeBoolean(sr.internalExtrametricality);
+		out.writeBoolean(sr.consonantExtrametricality);
+		out.writeBoolean(sr.avoidFinalPrimaryStress);
+	}
+	
+	/**
+	 * Reads a snapshot into a Phonology that is being restored, filling in every field the snapshot records.
+	 * This is the exact inverse of write(), and is called only by the Phonology's restoring constructor.
+	 * @param	p		The Phonology being restored
+	 * @param	in		A buffer positioned at the start of a snapshot; it is left positioned just past its end
+	 * @return	The seed of the Phonology from which the snapshot was taken
+	 * @throws	IllegalArgumentException	If the buffer does not hold a snapshot of a supported version
+	 * @since	1.2
+	 */
+	static long restore(Phonology p, ByteBuffer in)
+	{
+		if (in.getInt() != MAGIC)
+			throw new IllegalArgumentException("Not a phonology snapshot");
+		short version = in.getShort();
+		if (version != VERSION)
+			throw new IllegalArgumentException("Unsupported phonology snapshot version " + version);
+		long seed = in.getLong();
+		
+		// Syllable structure
+		p.maxOnsetLength	= in.get();
+		p.maxNucleusLength	= in.get();
+		p.maxCodaLength		= in.get();
+		
+		// Base chances
+		p.baseOnsetClusterChance		= in.getDouble();
+		p.baseCodaClusterChance			= in.getDouble();
+		p.baseDiphthongChance			= in.getDouble();
+		p.strongHeavyRimeChance			= in.getDouble();
+		p.strongLightRimeChance			= in.getDouble();
+		p.weakHeavyRimeChance			= in.getDouble();
+		p.weakLightRimeChance			= in.getDouble();
+		p.baseEmptyInitialOnsetChance	= in.getDouble();
+		p.baseMedialOnsetChance			= in.getDouble();
+		p.baseMedialCodaChance			= in.getDouble();
+		p.baseTerminalCodaChance		= in.getDouble();
+		
+		// Cluster length probabilities
+		p.simpleOnsetProbability			= in.getDouble();
+		p.simpleCodaProbability				= in.getDouble();
+		p.onsetClusterLengthProbabilities	= readDoubles(in);
+		p.codaClusterLengthProbabilities	= readDoubles(in);
+		
+		// Statistics
+		p.counts = new int[in.get()];
+		for (int i = 0; i < p.counts.length; i++)
+			p.counts[i] = in.getInt();
+		
+		// Phonemic inventories
+		p.consonantInventory = readPhonemes(p, in);
+		p.vowelInventory = readPhonemes(p, in);
+		
+		// Syllable segment table
+		Constituent[] table = new Constituent[in.getInt()];
+		for (int i = 0; i < table.length; i++)
+		{
+			ConstituentType type = ConstituentType.values()[in.get()];
+			Phoneme[] inventory = (type == ConstituentType.NUCLEUS) ? p.vowelInventory : p.consonantInventory;
+			Phoneme[] content = new Phoneme[in.get()];
+			for (int j = 0; j < content.length; j++)
+				content[j] = inventory[in.get()];
+			table[i] = p.new Constituent(type, content, in.getDouble());
+		}
+		
+		// Syllable segment inventories
+		p.onsets = readInventory(table, in);
+		p.nuclei = readInventory(table, in);
+		p.codas = readInventory(table, in);
+		
+		// Interludes and hiatus. These were sorted and normalized when they were written, so they need only
+		// their sampling tables rebuilt.
+		for (Phoneme[] inventory : new Phoneme[][] { p.consonantInventory, p.vowelInventory })
+			for (Phoneme ph : inventory)
+			{
+				ph.interludeLengthProbabilities = readDoubles(in);
+				boolean tables = in.get() != 0;
+				
+				ph.interludes = Phonology.newLists(in.get());
+				for (int i = 0; i < ph.interludes.length; i++)
+				{
+					int size = in.getInt();
+					ph.interludes[i] = new ArrayList<Follower>(size);
+					for (int j = 0; j < size; j++)
+					{
+						Constituent c = table[in.getInt()];
+						ph.interludes[i].add(ph.new Follower(c, in.getDouble()));
+					}
+				}
+				
+				if (tables)
+					ph.buildInterludeTables();
+			}
+		
+		// Stress rules
+		p.stressRules = new StressRules(StressHead.values()[in.get()], StressRhythm.values()[in.get()],
+										PrimaryStress.values()[in.get()], in.get() != 0, in.get() != 0,
+										in.get() != 0, in.get() != 0, in.get() != 0, in.get() != 0);
+		
+		return seed;
+	}
+	
+	/**
+	 * @param	p	A Phonology
+	 * @return	The Phonology's onset, nucleus, and coda inventories, in that order
+	 */
+	private static List<ArrayList<Constituent>[]> inventories(Phonology p)
+	{
+		return List.of(p.onsets, p.nuclei, p.codas);
+	}
+	
+	/**
+	 * Adds a syllable segment to the table, unless it is there already.
+	 */
+	private static void register(Constituent c, IdentityHashMap<Constituent, Integer> ids, List<Constituent> table)
+	{
+		if (!ids.containsKey(c))
+		{
+			ids.put(c, table.size());
+			table.add(c);
+		}
+	}
+	
+	/**
+	 * Writes a phonemic inventory as a count followed by the segment code of each Phoneme.
+	 */
+	private static void writePhonemes(Phoneme[] inventory, DataOutputStream out) throws IOException
+	{
+		out.writeByte(inventory.length);
+		for (Phoneme ph : inventory)
+			out.writeByte(CompactName.code(ph.segment));
+	}
+	
+	/**
+	 * Reads a phonemic inventory written by writePhonemes(). The Phonemes' interlude lists are filled in later.
+	 */
+	private static Phoneme[] readPhonemes(Phonology p, ByteBuffer in)
+	{
+		Phoneme[] inventory = new Phoneme[in.get()];
+		for (int i = 0; i < inventory.length; i++)
+		{
+			inventory[i] = p.new Phoneme(CompactName.segment(in.get()), 0);
+			inventory[i].index = i;
+		}
+		
+		return inventory;
+	}
+	
+	/**
+	 * Reads the lists of syllable segments of each length for one inventory.
+	 */
+	private static ArrayList<Constituent>[] readInventory(Constituent[] table, ByteBuffer in)
+	{
+		ArrayList<Constituent>[] lists = Phonology.newLists(in.get());
+		for (int i = 0; i < lists.length; i++)
+		{
+			int size = in.getInt();
+			lists[i] = new ArrayList<Constituent>(size);
+			for (int j = 0; j < size; j++)
+				lists[i].add(table[in.getInt()]);
+		}
+		
+		return lists;
+	}
+	
+	/**
+	 * Writes an array of doubles, which may be null, as a length (-1 for null) followed by its values.
+	 */
+	private static void writeDoubles(double[] values, DataOutputStream out) throws IOException
+	{
+		if (values == null)
+		{
+			out.writeInt(-1);
+			return;
+		}
+		
+		out.writeInt(values.length);
+		for (double value : values)
+			out.writeDouble(value);
+	}
+	
+	/**
+	 * Reads an array of doubles written by writeDoubles().
+	 */
+	private static double[] readDoubles(ByteBuffer in)
+	{
+		int length = in.getInt();
+		if (length < 0)
+			return null;
+		
+		double[] values = new double[length];
+		for (int i = 0; i < length; i++)
+			values[i] = in.getDouble();
+		
+		return values;
+	}
+}
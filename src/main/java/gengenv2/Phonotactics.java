@@ -19,13 +19,14 @@
 
 package gengenv2;
 
-import java.util.ArrayList;
-
 /**
  * An auxiliary class containing static data for use by Phonologies. Two kinds of data are present:
  * 1.	transition tables, which govern the likelihood that any sound may follow any other in consonant cluster
  * 		or diphthong.
  * 2.	category lists, which enumerate the ids of all consonants or vowels belonging to a transition category
+ * 
+ * These tables are shared by every Phonology, including those under construction on other threads, and so are
+ * never modified after class initialization.
  *  
  * @author	Clayton Cooper
  * 
@@ -38,7 +39,7 @@ final class Phonotactics
 	/**
 	 * Prevalence of transitions between consonants in onset clusters
 	 */
-	static int[][] onsetTransitions = new int[][]
+	static final int[][] onsetTransitions = new int[][]
 	{	//	0	1	2	3	4	5	6	7	8	9	10	11	13	14	15
 		{	0,	1,	1,	1,	1,	1,	1,	2,	1,	1,	0,	1,	1,	3,	3	},	// 0. unvoiced unaspirated stops
 		{	0,	0,	1,	1,	1,	1,	1,	1,	1,	1,	0,	1,	1,	3,	3	},	// 1. unvoiced aspirated stops
@@ -60,7 +61,7 @@ final class Phonotactics
 	/**
 	 * Prevalence of transitions between vowels in diphthongs (nucleus clusters)
 	 */
-	static int[][] nucleusTransitions = new int[][]
+	static final int[][] nucleusTransitions = new int[][]
 	{
 		//	0	1	2	3	4
 		{	0,	0,	0,	0,	0	},	// 0. schwa
@@ -73,7 +74,7 @@ final class Phonotactics
 	/**
 	 * Prevalence of transitions between consonants in coda clusters
 	 */
-	static int[][] codaTransitions = new int[][]
+	static final int[][] codaTransitions = new int[][]
 	{	//	0	1	2	3	4	5	6	7	8	9	10	11	12	13	14	
 		{	0,	0,	0,	0,	0,	0,	0,	3,	0,	0,	0,	0,	0,	0,	0	},	// 0. unvoiced unaspirated stops
 		{	1,	0,	0,	0,	0,	0,	0,	3,	0,	0,	0,	0,	0,	0,	0	},	// 1. unvoiced aspirated stops
@@ -95,7 +96,7 @@ final class Phonotactics
 	/**
 	 * Prevalence of transitions between consonants across syllables, from codas to onsets
 	 */
-	static int[][] interludeTransitions = new int[][]
+	static final int[][] interludeTransitions = new int[][]
 	{
 		//	0	1	2	3	4	5	6	7	8	9	10	11	12	13	14	
 		{	3,	2,	2,	2,	3,	2,	3,	3,	2,	2,	2,	3,	1,	3,	3	},	// 0. unvoiced unaspirated stops
@@ -118,7 +119,7 @@ final class Phonotactics
 	/**
 	 * Prevalence of transitions between vowels across syllables, from one nucleus to another
 	 */
-	static int[][] hiatusTransitions = new int[][]
+	static final int[][] hiatusTransitions = new int[][]
 	{
 		//	ə	a	e	o	i	u	y
 		{	0,	0,	0,	0,	0,	0,	0},	// 0. ə
@@ -138,38 +139,34 @@ final class Phonotactics
 	 * to accommodate the fact that they prefer to agree in voicing with whatever they are clustered with.
 	 * Generally, a Phonology will admit any member of the same category in the same position. 
 	 */
-	static ArrayList<int[]> consonantCategories = new ArrayList<int[]>()
+	static final int[][] consonantCategories = new int[][]
 	{
-		{
-			add(new int[] {0, 1, 2, 3});		// 0. unvoiced unaspirated stops
-			add(new int[] {4, 5, 6, 7});		// 1. unvoiced aspirated stops
-			add(new int[] {8, 9, 10});			// 2. voiced breathless stops
-			add(new int[] {11, 12, 13});		// 3. voiced breathy stops
-			add(new int[] {14, 15});			// 4. affricates
-			add(new int[] {16});				// 5. glottal stop
-			add(new int[] {17});				// 6. unvoiced nonsibilant fricatives
-			add(new int[] {18, 19});			// 7. unvoiced sibilant fricatives
-			add(new int[] {20});				// 8. voiced nonsibilant fricatives
-			add(new int[] {21, 22});			// 9. voiced sibilant fricatives
-			add(new int[] {23});				// 10. glottal fricative
-			add(new int[] {24, 25, 26});		// 11. voiced nasals
-			add(new int[] {27, 28});			// 12. unvoiced nasals
-			add(new int[] {29, 30});			// 13. liquids
-			add(new int[] {31, 32});			// 14. glides
-		}
+		{0, 1, 2, 3},	// 0. unvoiced unaspirated stops
+		{4, 5, 6, 7},	// 1. unvoiced aspirated stops
+		{8, 9, 10},		// 2. voiced breathless stops
+		{11, 12, 13},	// 3. voiced breathy stops
+		{14, 15},		// 4. affricates
+		{16},			// 5. glottal stop
+		{17},			// 6. unvoiced nonsibilant fricatives
+		{18, 19},		// 7. unvoiced sibilant fricatives
+		{20},			// 8. voiced nonsibilant fricatives
+		{21, 22},		// 9. voiced sibilant fricatives
+		{23},			// 10. glottal fricative
+		{24, 25, 26},	// 11. voiced nasals
+		{27, 28},		// 12. unvoiced nasals
+		{29, 30},		// 13. liquids
+		{31, 32}		// 14. glides
 	};
 	
 	/**
 	 * Phonotactic categories for vowel sounds
 	 */
-	static ArrayList<int[]> vowelCategories = new ArrayList<int[]>()
+	static final int[][] vowelCategories = new int[][]
 	{
-		{
-			add(new int[] {0});				// 0. schwa
-			add(new int[] {1});				// 1. open vowels
-			add(new int[] {2, 3});			// 2. mid vowels
-			add(new int[] {4, 5, 6});		// 3. close vowels
-			add(new int[] {7});				// 4. vowel length
-		}
+		{0},			// 0. schwa
+		{1},			// 1. open vowels
+		{2, 3},			// 2. mid vowels
+		{4, 5, 6},		// 3. close vowels
+		{7}				// 4. vowel length
 	};
 }
\ No newline at end of file
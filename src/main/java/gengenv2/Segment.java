@@ -30,24 +30,26 @@ package gengenv2;
  */
 abstract class Segment extends Object
 {
-	String expression;
-	String ipa;
-	SegmentProperty[] properties;
-	int transitionCategory;
-	int id;
+	final String expression;
+	final String ipa;
+	final SegmentProperty[] properties;
+	final int transitionCategory;
+	final int id;
 	
 	/**
-	 * A basic constructor that sets the most fundamental variables of the Segment. The id field is not set here
-	 * but in the constructors of Segment's child classes, as the id of each Consonant is unique among Consonants,
-	 * and just so for Vowels, and so this value depends on the static counts only within those classes.
+	 * A basic constructor that sets the most fundamental variables of the Segment. The id of each Consonant is
+	 * unique among Consonants, and just so for Vowels; it is always the Segment's position in its class's table
+	 * of segments.
 	 *    
+	 * @param id					The position of this sound in its class's table of segments
 	 * @param expression			The character or characters used to denote this sound orthographically
 	 * @param ipa					The IPA character representing this segment
 	 * @param transitionCategory	The category to which this sound belongs for the purposes of cluster construction
 	 * @param properties			The list of consonant or vowel properties that define this sound
 	 */
-	public Segment(String expression, String ipa, int transitionCategory, SegmentProperty[] properties)
+	public Segment(int id, String expression, String ipa, int transitionCategory, SegmentProperty[] properties)
 	{
+		this.id = id;
 		this.expression = expression;
 		this.ipa = ipa;
 		this.transitionCategory = transitionCategory;
@@ -70,27 +72,24 @@ abstract class Segment extends Object
  */
 class Consonant extends Segment
 {
-	static int count = 0;
-	double defectiveChance;
-	ConsonantProperty[] properties;
+	final double defectiveChance;
+	final ConsonantProperty[] properties;
 	
 	/**
-	 * Sets Segment fields by calling the superclass's constructor - but also sets this Consonant's id by
-	 * checking the static count, and increments it.
+	 * Sets Segment fields by calling the superclass's constructor.
+	 * @param id					The position of this sound in the table of consonants
 	 * @param expression			Character(s) representing this sound's orthographic representation
 	 * @param ipa					The IPA symbol representing this sound
 	 * @param transitionCategory	Character's phonotactic category for the purposes of deciding consonant clusters
 	 * @param defectiveChance		The chance of this segment being defective, i.e., absent form a language, despite the presence of all of its properties
 	 * @param properties			List of character's phonetic properties
 	 */
-	public Consonant(String expression, String ipa, int transitionCategory, double defectiveChance, 
+	public Consonant(int id, String expression, String ipa, int transitionCategory, double defectiveChance, 
 			ConsonantProperty[] properties)
 	{
-		super(expression, ipa, transitionCategory, properties);
+		super(id, expression, ipa, transitionCategory, properties);
 		this.defectiveChance = defectiveChance;
 		this.properties = properties; 
-		id = count;
-		count++;
 	}
 	
 	/**
@@ -102,48 +101,48 @@ class Consonant extends Segment
 	}
 	
 	// Defines cross-linguistic consonantal inventory
-	static Consonant[] segments = new Consonant[]
+	static final Consonant[] segments = new Consonant[]
 	{
-/* 0*/	new Consonant("p" ,  "p",	0,	0.129,	new ConsonantProperty[] {ConsonantProperty.PLOSIVE,		ConsonantProperty.BILABIAL, 	ConsonantProperty.VOICELESS}),
-/* 1*/	new Consonant("t" ,  "t",	0,	0.043,	new ConsonantProperty[] {ConsonantProperty.PLOSIVE,		ConsonantProperty.ALVEOLAR, 	ConsonantProperty.VOICELESS}),
-/* 2*/	new Consonant("k" ,  "k",	0,	0.052,	new ConsonantProperty[] {ConsonantProperty.PLOSIVE,		ConsonantProperty.VELAR, 		ConsonantProperty.VOICELESS}),
-/* 3*/	new Consonant("q" ,  "q",	0,	0, 		new ConsonantProperty[] {ConsonantProperty.PLOSIVE,		ConsonantProperty.UVULAR, 		ConsonantProperty.VOICELESS}),
-/* 4*/	new Consonant("b" ,  "b",	2,	0.165,	new ConsonantProperty[] {ConsonantProperty.PLOSIVE,		ConsonantProperty.BILABIAL, 	ConsonantProperty.VOICED}),
-/* 5*/	new Consonant("d" ,  "d",	2,	0.195,	new ConsonantProperty[] {ConsonantProperty.PLOSIVE,		ConsonantProperty.ALVEOLAR, 	ConsonantProperty.VOICED}),
-/* 6*/	new Consonant("g" ,  "g",	2,	0.259,	new ConsonantProperty[] {ConsonantProperty.PLOSIVE,		ConsonantProperty.VELAR, 		ConsonantProperty.VOICED}),
-/* 7*/	new Consonant("'" ,  "ʔ", 	5,	0.357,	new ConsonantProperty[] {ConsonantProperty.PLOSIVE, 	ConsonantProperty.GLOTTAL}),
+		new Consonant( 0, "p" ,  "p",	0,	0.129,	new ConsonantProperty[] {ConsonantProperty.PLOSIVE,		ConsonantProperty.BILABIAL, 	ConsonantProperty.VOICELESS}),
+		new Consonant( 1, "t" ,  "t",	0,	0.043,	new ConsonantProperty[] {ConsonantProperty.PLOSIVE,		ConsonantProperty.ALVEOLAR, 	ConsonantProperty.VOICELESS}),
+		new Consonant( 2, "k" ,  "k",	0,	0.052,	new ConsonantProperty[] {ConsonantProperty.PLOSIVE,		ConsonantProperty.VELAR, 		ConsonantProperty.VOICELESS}),
+		new Consonant( 3, "q" ,  "q",	0,	0, 		new ConsonantProperty[] {ConsonantProperty.PLOSIVE,		ConsonantProperty.UVULAR, 		ConsonantProperty.VOICELESS}),
+		new Consonant( 4, "b" ,  "b",	2,	0.165,	new ConsonantProperty[] {ConsonantProperty.PLOSIVE,		ConsonantProperty.BILABIAL, 	ConsonantProperty.VOICED}),
+		new Consonant( 5, "d" ,  "d",	2,	0.195,	new ConsonantProperty[] {ConsonantProperty.PLOSIVE,		ConsonantProperty.ALVEOLAR, 	ConsonantProperty.VOICED}),
+		new Consonant( 6, "g" ,  "g",	2,	0.259,	new ConsonantProperty[] {ConsonantProperty.PLOSIVE,		ConsonantProperty.VELAR, 		ConsonantProperty.VOICED}),
+		new Consonant( 7, "'" ,  "ʔ", 	5,	0.357,	new ConsonantProperty[] {ConsonantProperty.PLOSIVE, 	ConsonantProperty.GLOTTAL}),
 
-/* 8*/	new Consonant("c" ,  "ts",	4, 0.452,	new ConsonantProperty[] {ConsonantProperty.AFFRICATE,	ConsonantProperty.ALVEOLAR, 	ConsonantProperty.VOICED,		ConsonantProperty.SIBILANT}),
-/* 9*/	new Consonant("ch",  "tʃ",	4, 0,		new ConsonantProperty[] {ConsonantProperty.AFFRICATE,	ConsonantProperty.POSTALVEOLAR,	ConsonantProperty.VOICELESS,	ConsonantProperty.SIBILANT}),
-/*10*/	new Consonant("j" ,  "dʒ",	4, 0.025,	new ConsonantProperty[] {ConsonantProperty.AFFRICATE,	ConsonantProperty.POSTALVEOLAR, ConsonantProperty.VOICED,		ConsonantProperty.SIBILANT}),
+		new Consonant( 8, "c" ,  "ts",	4, 0.452,	new ConsonantProperty[] {ConsonantProperty.AFFRICATE,	ConsonantProperty.ALVEOLAR, 	ConsonantProperty.VOICED,		ConsonantProperty.SIBILANT}),
+		new Consonant( 9, "ch",  "tʃ",	4, 0,		new ConsonantProperty[] {ConsonantProperty.AFFRICATE,	ConsonantProperty.POSTALVEOLAR,	ConsonantProperty.VOICELESS,	ConsonantProperty.SIBILANT}),
+		new Consonant(10, "j" ,  "dʒ",	4, 0.025,	new ConsonantProperty[] {ConsonantProperty.AFFRICATE,	ConsonantProperty.POSTALVEOLAR, ConsonantProperty.VOICED,		ConsonantProperty.SIBILANT}),
 
-/*11*/	new Consonant("ph",  "ɸ",	6, 0.863,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.BILABIAL,		ConsonantProperty.VOICELESS,	ConsonantProperty.NONSIBILANT}),
-/*12*/	new Consonant("th",  "θ",	6, 0.937,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.ALVEOLAR,		ConsonantProperty.VOICELESS,	ConsonantProperty.NONSIBILANT}),
-/*13*/	new Consonant("kh",  "x",	6, 0.568,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.VELAR,		ConsonantProperty.VOICELESS,	ConsonantProperty.NONSIBILANT}),
-/*14*/	new Consonant("qh",  "ʁ",	6, 0,		new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.UVULAR,		ConsonantProperty.VOICELESS,	ConsonantProperty.NONSIBILANT}),
-/*15*/	new Consonant("f" ,  "f",	6, 0.093,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.LABIODENTAL,	ConsonantProperty.VOICELESS,	ConsonantProperty.NONSIBILANT}),
-/*16*/	new Consonant("s" ,  "s",	7, 0.016,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.ALVEOLAR,		ConsonantProperty.VOICELESS,	ConsonantProperty.SIBILANT}),
-/*17*/	new Consonant("sh",  "ʃ",	7, 0.156,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.POSTALVEOLAR,	ConsonantProperty.VOICELESS,	ConsonantProperty.SIBILANT}),
+		new Consonant(11, "ph",  "ɸ",	6, 0.863,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.BILABIAL,		ConsonantProperty.VOICELESS,	ConsonantProperty.NONSIBILANT}),
+		new Consonant(12, "th",  "θ",	6, 0.937,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.ALVEOLAR,		ConsonantProperty.VOICELESS,	ConsonantProperty.NONSIBILANT}),
+		new Consonant(13, "kh",  "x",	6, 0.568,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.VELAR,		ConsonantProperty.VOICELESS,	ConsonantProperty.NONSIBILANT}),
+		new Consonant(14, "qh",  "ʁ",	6, 0,		new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.UVULAR,		ConsonantProperty.VOICELESS,	ConsonantProperty.NONSIBILANT}),
+		new Consonant(15, "f" ,  "f",	6, 0.093,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.LABIODENTAL,	ConsonantProperty.VOICELESS,	ConsonantProperty.NONSIBILANT}),
+		new Consonant(16, "s" ,  "s",	7, 0.016,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.ALVEOLAR,		ConsonantProperty.VOICELESS,	ConsonantProperty.SIBILANT}),
+		new Consonant(17, "sh",  "ʃ",	7, 0.156,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.POSTALVEOLAR,	ConsonantProperty.VOICELESS,	ConsonantProperty.SIBILANT}),
 
-/*18*/	new Consonant("bh",  "β",	8, 0.754,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.BILABIAL, 	ConsonantProperty.VOICED,		ConsonantProperty.NONSIBILANT}),
-/*19*/	new Consonant("dh",  "ð",	8, 0.900,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.ALVEOLAR, 	ConsonantProperty.VOICED,		ConsonantProperty.NONSIBILANT}),
-/*20*/	new Consonant("gh",  "ɣ",	8, 0.748,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.VELAR, 		ConsonantProperty.VOICED,		ConsonantProperty.NONSIBILANT}),
-/*21*/	new Consonant("v" ,  "v",	8, 0.211,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.LABIODENTAL,	ConsonantProperty.VOICED,		ConsonantProperty.NONSIBILANT}),
-/*22*/	new Consonant("z" ,  "z",	9, 0.580,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.ALVEOLAR,		ConsonantProperty.VOICED,		ConsonantProperty.SIBILANT}),
-/*23*/	new Consonant("zh",  "ʒ",	9, 0.646,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.POSTALVEOLAR,	ConsonantProperty.VOICED,		ConsonantProperty.SIBILANT}),
+		new Consonant(18, "bh",  "β",	8, 0.754,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.BILABIAL, 	ConsonantProperty.VOICED,		ConsonantProperty.NONSIBILANT}),
+		new Consonant(19, "dh",  "ð",	8, 0.900,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.ALVEOLAR, 	ConsonantProperty.VOICED,		ConsonantProperty.NONSIBILANT}),
+		new Consonant(20, "gh",  "ɣ",	8, 0.748,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.VELAR, 		ConsonantProperty.VOICED,		ConsonantProperty.NONSIBILANT}),
+		new Consonant(21, "v" ,  "v",	8, 0.211,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.LABIODENTAL,	ConsonantProperty.VOICED,		ConsonantProperty.NONSIBILANT}),
+		new Consonant(22, "z" ,  "z",	9, 0.580,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.ALVEOLAR,		ConsonantProperty.VOICED,		ConsonantProperty.SIBILANT}),
+		new Consonant(23, "zh",  "ʒ",	9, 0.646,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.POSTALVEOLAR,	ConsonantProperty.VOICED,		ConsonantProperty.SIBILANT}),
 
-/*24*/	new Consonant("h" ,  "h",	10, 0.058,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.GLOTTAL}),
+		new Consonant(24, "h" ,  "h",	10, 0.058,	new ConsonantProperty[] {ConsonantProperty.FRICATIVE,	ConsonantProperty.GLOTTAL}),
 		
-/*25*/	new Consonant("m" ,  "m",	11, 0.015,	new ConsonantProperty[] {ConsonantProperty.NASAL,		ConsonantProperty.BILABIAL}),
-/*26*/	new Consonant("n" ,  "n",	11, 0.004,	new ConsonantProperty[] {ConsonantProperty.NASAL,		ConsonantProperty.ALVEOLAR}),
-/*27*/	new Consonant("ng",  "ŋ",	11, 0.447,	new ConsonantProperty[] {ConsonantProperty.NASAL,		ConsonantProperty.VELAR}),
-/*28*/	new Consonant("mh",  "m̥",	12, 0,		new ConsonantProperty[] {ConsonantProperty.VOICELESS_NASAL,	ConsonantProperty.BILABIAL}),
-/*29*/	new Consonant("nh",  "n̥",	12, 0.112,	new ConsonantProperty[] {ConsonantProperty.VOICELESS_NASAL,	ConsonantProperty.ALVEOLAR}),
+		new Consonant(25, "m" ,  "m",	11, 0.015,	new ConsonantProperty[] {ConsonantProperty.NASAL,		ConsonantProperty.BILABIAL}),
+		new Consonant(26, "n" ,  "n",	11, 0.004,	new ConsonantProperty[] {ConsonantProperty.NASAL,		ConsonantProperty.ALVEOLAR}),
+		new Consonant(27, "ng",  "ŋ",	11, 0.447,	new ConsonantProperty[] {ConsonantProperty.NASAL,		ConsonantProperty.VELAR}),
+		new Consonant(28, "mh",  "m̥",	12, 0,		new ConsonantProperty[] {ConsonantProperty.VOICELESS_NASAL,	ConsonantProperty.BILABIAL}),
+		new Consonant(29, "nh",  "n̥",	12, 0.112,	new ConsonantProperty[] {ConsonantProperty.VOICELESS_NASAL,	ConsonantProperty.ALVEOLAR}),
 
-/*30*/	new Consonant("r" ,  "r",	13, 0,		new ConsonantProperty[] {ConsonantProperty.LIQUID,	 ConsonantProperty.APPROXIMANT,		ConsonantProperty.ALVEOLAR_TRILL}),
-/*31*/	new Consonant("l" ,  "l",	13, 0,		new ConsonantProperty[] {ConsonantProperty.LIQUID,	 ConsonantProperty.APPROXIMANT,		ConsonantProperty.LATERAL_APPROX}),
-/*32*/	new Consonant("y" ,  "j",	14, 0,		new ConsonantProperty[] {ConsonantProperty.GLIDE,	 ConsonantProperty.APPROXIMANT,		ConsonantProperty.PALATAL_APPROX}),
-/*33*/	new Consonant("w" ,  "w",	14, 0,		new ConsonantProperty[] {ConsonantProperty.GLIDE,	 ConsonantProperty.APPROXIMANT,		ConsonantProperty.LABIOVELAR_APPROX}),
+		new Consonant(30, "r" ,  "r",	13, 0,		new ConsonantProperty[] {ConsonantProperty.LIQUID,	 ConsonantProperty.APPROXIMANT,		ConsonantProperty.ALVEOLAR_TRILL}),
+		new Consonant(31, "l" ,  "l",	13, 0,		new ConsonantProperty[] {ConsonantProperty.LIQUID,	 ConsonantProperty.APPROXIMANT,		ConsonantProperty.LATERAL_APPROX}),
+		new Consonant(32, "y" ,  "j",	14, 0,		new ConsonantProperty[] {ConsonantProperty.GLIDE,	 ConsonantProperty.APPROXIMANT,		ConsonantProperty.PALATAL_APPROX}),
+		new Consonant(33, "w" ,  "w",	14, 0,		new ConsonantProperty[] {ConsonantProperty.GLIDE,	 ConsonantProperty.APPROXIMANT,		ConsonantProperty.LABIOVELAR_APPROX}),
 	};
 }
 
@@ -156,28 +155,25 @@ class Consonant extends Segment
  */
 class Vowel extends Segment
 {
-	static int count = 0;
-	VowelProperty[] properties;
+	final VowelProperty[] properties;
 	public final String diaeresis;
 	public final String stress;
 	
 	/**
-	 * Sets Segment fields by calling the superclass's constructor - but also sets this Vowel's id by
-	 * checking the static count, and increments it.
+	 * Sets Segment fields by calling the superclass's constructor.
+	 * @param id					The position of this sound in the table of vowels
 	 * @param expression			Character(s) representing this sound's orthographic representation
 	 * @param ipa					IPA symbol representing this segment
 	 * @param transitionCategory	Character's phonotactic category for the purposes of deciding consonant clusters
 	 * @param properties			List of character's phonetic properties
 	 */
-	public Vowel(String expression, String ipa, String diaeresis, String stress, int transitionCategory, 
+	public Vowel(int id, String expression, String ipa, String diaeresis, String stress, int transitionCategory, 
 					VowelProperty[] properties)
 	{
-		super(expression, ipa, transitionCategory, properties);
+		super(id, expression, ipa, transitionCategory, properties);
 		this.properties = properties;
 		this.diaeresis = diaeresis;
 		this.stress = stress;
-		id = count;
-		count++;
 	}
 	
 	/**
@@ -189,16 +185,16 @@ class Vowel extends Segment
 	}
 	
 	// Defines cross-linguistic consonantal inventory
-	static Vowel[] segments = new Vowel[]
+	static final Vowel[] segments = new Vowel[]
 	{
-		/*0*/	new Vowel("*", "" , "" , "" , 0, new VowelProperty[] {VowelProperty.NULL}),
-		/*1*/	new Vowel("a", "a", "ä", "á", 1, new VowelProperty[] {VowelProperty.OPEN}),
-		/*2*/	new Vowel("e", "e", "ë", "é", 2, new VowelProperty[] {VowelProperty.MID,		VowelProperty.FRONT}),
-		/*3*/	new Vowel("o", "o", "ö", "ó", 2, new VowelProperty[] {VowelProperty.MID,		VowelProperty.BACK}),
-		/*4*/	new Vowel("i", "i", "ï", "í", 3, new VowelProperty[] {VowelProperty.CLOSE,	VowelProperty.FRONT}),
-		/*5*/	new Vowel("u", "u", "ü", "ú", 3, new VowelProperty[] {VowelProperty.CLOSE,	VowelProperty.BACK}),
-		/*6*/	new Vowel("y", "ɨ", "ÿ", "ý", 3, new VowelProperty[] {VowelProperty.CLOSE,	VowelProperty.CENTER}),
-		/*7*/	new Vowel(":", "ː", "",  "" , 4, new VowelProperty[] {VowelProperty.LONG}),
+		new Vowel(0, "*", "" , "" , "" , 0, new VowelProperty[] {VowelProperty.NULL}),
+		new Vowel(1, "a", "a", "ä", "á", 1, new VowelProperty[] {VowelProperty.OPEN}),
+		new Vowel(2, "e", "e", "ë", "é", 2, new VowelProperty[] {VowelProperty.MID,		VowelProperty.FRONT}),
+		new Vowel(3, "o", "o", "ö", "ó", 2, new VowelProperty[] {VowelProperty.MID,		VowelProperty.BACK}),
+		new Vowel(4, "i", "i", "ï", "í", 3, new VowelProperty[] {VowelProperty.CLOSE,	VowelProperty.FRONT}),
+		new Vowel(5, "u", "u", "ü", "ú", 3, new VowelProperty[] {VowelProperty.CLOSE,	VowelProperty.BACK}),
+		new Vowel(6, "y", "ɨ", "ÿ", "ý", 3, new VowelProperty[] {VowelProperty.CLOSE,	VowelProperty.CENTER}),
+		new Vowel(7, ":", "ː", "",  "" , 4, new VowelProperty[] {VowelProperty.LONG}),
 	};
 }
 
@@ -238,7 +234,7 @@ enum ConsonantProperty implements SegmentProperty
 	PALATAL_APPROX(.838), LABIOVELAR_APPROX(.741),	// x | approximant & glide 
 	LATERAL_APPROX(.754), ALVEOLAR_TRILL(.661);		// x | approximant & liquid;
 	
-	double probability;
+	final double probability;
 	
 	ConsonantProperty (double probability)
 	{
@@ -264,7 +260,7 @@ enum VowelProperty implements SegmentProperty
 	FRONT(.991), CENTER(.159), BACK(.991),
 	LONG(.250);	// this one is extremely fudged
 	
-	double probability;
+	final double probability;
 	
 	VowelProperty (double probability)
 	{
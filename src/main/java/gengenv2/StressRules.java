@@ -19,6 +19,8 @@
 
 package gengenv2;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Random;
 
 import gengenv2.Name.Syllable;
@@ -35,18 +37,25 @@ public class StressRules
 	enum StressRhythm	{ IAMBIC, TROCHAIC };
 	enum PrimaryStress	{ FIRST, LAST };
 	
-	public StressHead stressHead;				// The side of the word from which versification begins
-	public StressRhythm stressRhythm;			// Whether feet follow a weak-strong or strong-weak pattern
-	public PrimaryStress primaryStress;			// Which of the stresses in a word is most pronounced
-	public boolean quantitySensitive;			// Whether heavy syllables attract stress
-	public boolean allowClashes;				// Whether two adjacent syllables can receive stress
-	public boolean externalExtrametricality;	// If enabled, the last syllable of the word is ignored when assigning stress
-	public boolean internalExtrametricality;	// If enabled, allows non to contain an extra unstressed syllable
-	public boolean consonantExtrametricality;	// If enabled, the last consonant of the word is ignored when determining syllable weight
-	public boolean avoidFinalPrimaryStress;		// If enabled, primary stress will not fall on the final syllable unless it is the only stress
+	public final StressHead stressHead;				// The side of the word from which versification begins
+	public final StressRhythm stressRhythm;			// Whether feet follow a weak-strong or strong-weak pattern
+	public final PrimaryStress primaryStress;			// Which of the stresses in a word is most pronounced
+	public final boolean quantitySensitive;			// Whether heavy syllables attract stress
+	public final boolean allowClashes;				// Whether two adjacent syllables can receive stress
+	public final boolean externalExtrametricality;	// If enabled, the last syllable of the word is ignored when assigning stress
+	public final boolean internalExtrametricality;	// If enabled, allows non to contain an extra unstressed syllable
+	public final boolean consonantExtrametricality;	// If enabled, the last consonant of the word is ignored when determining syllable weight
+	public final boolean avoidFinalPrimaryStress;		// If enabled, primary stress will not fall on the final syllable unless it is the only stress
+	
+	static final int MAX_TABULATED_SYLLABLES = 8;		// Longest names whose stress patterns are precomputed
+	private static final Stress[] STRESSES = Stress.values();
+	
+	private boolean weightSensitive;			// Whether any rule depends on syllable weight
+	private int[][] patterns;					// Packed stress patterns, by number of syllables and mask of heavy syllables
 	
 	/**
-	 * Calls the other constructor with a random seed.
+	 * Calls the other constructor with a random seed. Phonologies do not use this constructor, but derive the seed
+	 * of their stress rules from their own.
 	 */
 	public StressRules ()
 	{
@@ -81,21 +90,134 @@ public class StressRules
 		
 		if ((quantitySensitive || internalExtrametricality) && !externalExtrametricality)
 			consonantExtrametricality = (rng.nextInt(4) == 0);
+		else
+			consonantExtrametricality = false;
 		
 		if (!externalExtrametricality && primaryStress == PrimaryStress.LAST)
 			avoidFinalPrimaryStress = (rng.nextInt(3) == 0);
+		else
+			avoidFinalPrimaryStress = false;
+		
+		buildPatterns();
+	}
+	
+	/**
+	 * Sets every rule for stress assignment explicitly, as when restoring a Phonology from a snapshot.
+	 * 
+	 * @param	stressHead					The side of the word from which versification begins
+	 * @param	stressRhythm				Whether feet follow a weak-strong or strong-weak pattern
+	 * @param	primaryStress				Which of the stresses in a word is most pronounced
+	 * @param	quantitySensitive			Whether heavy syllables attract stress
+	 * @param	allowClashes				Whether two adjacent syllables can receive stress
+	 * @param	externalExtrametricality	Whether the last syllable of the word is ignored
+	 * @param	internalExtrametricality	Whether feet may contain an extra unstressed syllable
+	 * @param	consonantExtrametricality	Whether the last consonant of the word is ignored for syllable weight
+	 * @param	avoidFinalPrimaryStress		Whether primary stress avoids the final syllable
+	 * @since	1.2
+	 */
+	StressRules(StressHead stressHead, StressRhythm stressRhythm, PrimaryStress primaryStress,
+				boolean quantitySensitive, boolean allowClashes, boolean externalExtrametricality,
+				boolean internalExtrametricality, boolean consonantExtrametricality, boolean avoidFinalPrimaryStress)
+	{
+		this.stressHead = stressHead;
+		this.stressRhythm = stressRhythm;
+		this.primaryStress = primaryStress;
+		this.quantitySensitive = quantitySensitive;
+		this.allowClashes = allowClashes;
+		this.externalExtrametricality = externalExtrametricality;
+		this.internalExtrametricality = internalExtrametricality;
+		this.consonantExtrametricality = consonantExtrametricality;
+		this.avoidFinalPrimaryStress = avoidFinalPrimaryStress;
+		
+		buildPatterns();
 	}
 	
 	/**
-	 * Assigns stress to every syllable of the given name according to rules set.
+	 * Assigns stress to every syllable of the given name according to rules set. Names of up to
+	 * MAX_TABULATED_SYLLABLES syllables take their stresses from the precomputed patterns; longer ones are worked
+	 * out syllable by syllable.
 	 * @param	name	The name to be versified
 	 */
 	public void addStresses(Name name)
 	{
+		ArrayList<Syllable> syllables = name.getSyllables();
+		int n = syllables.size();
+		
 		// Only assign stress in polysyllabic names
-		if (name.getSyllables().size() == 1)
+		if (n == 1)
 			return;
 		
+		if (n <= MAX_TABULATED_SYLLABLES)
+		{
+			int mask = 0;
+			if (weightSensitive)
+				for (int i = 0; i < n; i++)
+					if (syllables.get(i).isHeavy(consonantExtrametricality))
+						mask |= 1 << i;
+			
+			int pattern = patterns[n][mask];
+			for (int i = 0; i < n; i++)
+				syllables.get(i).stress = STRESSES[(pattern >>> (2 * i)) & 3];
+		}
+		else
+		{
+			boolean[] heavy = new boolean[n];
+			for (int i = 0; i < n; i++)
+				heavy[i] = syllables.get(i).isHeavy(consonantExtrametricality);
+			
+			Stress[] stress = new Stress[n];
+			assignStresses(heavy, stress);
+			for (int i = 0; i < n; i++)
+				syllables.get(i).stress = stress[i];
+		}
+	}
+	
+	/**
+	 * Precomputes the stress pattern of every polysyllabic name of up to MAX_TABULATED_SYLLABLES syllables, for
+	 * each combination of heavy and light syllables. Each pattern packs the ordinal of every syllable's Stress into
+	 * two bits, the first syllable lowest. If syllable weight plays no part in these rules, a single pattern is
+	 * kept for each number of syllables.
+	 * 
+	 * @since	1.2
+	 */
+	private void buildPatterns()
+	{
+		weightSensitive = quantitySensitive || internalExtrametricality;
+		patterns = new int[MAX_TABULATED_SYLLABLES + 1][];
+		
+		for (int n = 2; n <= MAX_TABULATED_SYLLABLES; n++)
+		{
+			patterns[n] = new int[weightSensitive ? 1 << n : 1];
+			boolean[] heavy = new boolean[n];
+			Stress[] stress = new Stress[n];
+			
+			for (int mask = 0; mask < patterns[n].length; mask++)
+			{
+				for (int i = 0; i < n; i++)
+					heavy[i] = (mask & (1 << i)) != 0;
+				
+				assignStresses(heavy, stress);
+				
+				int pattern = 0;
+				for (int i = 0; i < n; i++)
+					pattern |= stress[i].ordinal() << (2 * i);
+				patterns[n][mask] = pattern;
+			}
+		}
+	}
+	
+	/**
+	 * Works out the stress of every syllable of a polysyllabic name from the weights of its syllables.
+	 * 
+	 * @param	heavy	Whether each syllable is heavy, taking consonant extrametricality into account
+	 * @param	stress	The array in which to store the stress of each syllable, of the same length as heavy
+	 * @since	1.2
+	 */
+	private void assignStresses(boolean[] heavy, Stress[] stress)
+	{
+		int n = heavy.length;
+		Arrays.fill(stress, Stress.WEAK);
+		
 		Stress leftStress, rightStress;
 		int footPosition = 0;
 		
@@ -111,7 +233,7 @@ public class StressRules
 		}
 		
 		// Word-extrametricality causes us to ignore the last syllable in versification
-		int lastMetricalSyllable = name.getSyllables().size() - 1;
+		int lastMetricalSyllable = n - 1;
 		if (externalExtrametricality)
 			lastMetricalSyllable--;
 		
@@ -120,20 +242,19 @@ public class StressRules
 		if (stressHead == StressHead.LEFT)
 			for (int i = 0; i <= lastMetricalSyllable; i++)
 			{	
-				Syllable syl = name.getSyllables().get(i);
-				
+								
 				// 1. Quantity sensitivity attracts stress to heavy syllables
-				if (quantitySensitive && syl.isHeavy(consonantExtrametricality))
+				if (quantitySensitive && heavy[i])
 				{
 					// 1a. Quantity sensitivity doesn't apply to a syllable when it would cause a forbidden clash
-					if (i > 0 && name.getSyllables().get(i - 1).stress == Stress.STRONG && !allowClashes)
+					if (i > 0 && stress[i - 1] == Stress.STRONG && !allowClashes)
 					{
-						syl.stress = Stress.WEAK;
+						stress[i] = Stress.WEAK;
 						footPosition = leftStress == Stress.WEAK ? 1 : 0;
 					}
 					else
 					{
-						syl.stress = Stress.STRONG;
+						stress[i] = Stress.STRONG;
 						footPosition = leftStress == Stress.STRONG ? 1 : 0;
 					}
 				}
@@ -144,35 +265,35 @@ public class StressRules
 				// This is a sort of quantity-sensitivity that helps attract the next foot's stress to heavy syllables,
 				// although this can come at the expense of still more distant feet. Still, in that short range,
 				// it helps improve rhythm.
-				else if (internalExtrametricality && i > 0 && !syl.isHeavy(consonantExtrametricality) && name.getSyllables().get(i - 1).stress == rightStress &&
-						 (i < lastMetricalSyllable && name.getSyllables().get(i + 1).isHeavy(consonantExtrametricality) == (leftStress == Stress.STRONG)))
+				else if (internalExtrametricality && i > 0 && !heavy[i] && stress[i - 1] == rightStress &&
+						 (i < lastMetricalSyllable && heavy[i + 1] == (leftStress == Stress.STRONG)))
 				{
 					// Make this syllable strong if it would result in 3 consecutive weak syllables
 					if (externalExtrametricality && i == lastMetricalSyllable && stressRhythm == StressRhythm.TROCHAIC)
-						syl.stress = Stress.STRONG;
+						stress[i] = Stress.STRONG;
 					else
-						syl.stress = Stress.WEAK;
+						stress[i] = Stress.WEAK;
 				}
 				
 				// 3. Initial lapse prevention
 				// If the current syllable is the initial syllable, and the following is weak, the current syllable 
 				// must be strong to prevent a pair of initial weak syllables (lapse). In a left-headed language, 
 				// this only occurs in a two-syllable iambic word with an extrametrical final syllable.
-				else if (i == 0 && externalExtrametricality && name.getSyllables().size() == 2)
+				else if (i == 0 && externalExtrametricality && n == 2)
 				{
-					syl.stress = Stress.STRONG;
+					stress[i] = Stress.STRONG;
 				}
 				
 				// 3a. Application of default stress according to position in foot (beginning of foot)
 				else if (footPosition == 0)
 				{
-					syl.stress = leftStress;
+					stress[i] = leftStress;
 					footPosition = 1;
 				}
 				// 3b. Application of default stress according to position in foot (end of foot)
 				else
 				{
-					syl.stress = rightStress;
+					stress[i] = rightStress;
 					footPosition = 0;
 				}
 			}
@@ -181,20 +302,19 @@ public class StressRules
 		else
 			for (int i = lastMetricalSyllable; i >= 0; i--)
 			{	
-				Syllable syl = name.getSyllables().get(i);
-				
+								
 				// 1. Quantity sensitivity attracts stress to heavy syllables
-				if (quantitySensitive && syl.isHeavy(consonantExtrametricality))
+				if (quantitySensitive && heavy[i])
 				{
 					// 1a. Quantity sensitivity doesn't apply to a syllable when it would cause a forbidden clash
-					if (i < lastMetricalSyllable && name.getSyllables().get(i + 1).stress == Stress.STRONG && !allowClashes)
+					if (i < lastMetricalSyllable && stress[i + 1] == Stress.STRONG && !allowClashes)
 					{
-						syl.stress = Stress.WEAK;
+						stress[i] = Stress.WEAK;
 						footPosition = rightStress == Stress.WEAK ? 1 : 0;
 					}
 					else
 					{
-						syl.stress = Stress.STRONG;
+						stress[i] = Stress.STRONG;
 						footPosition = rightStress == Stress.STRONG ? 1 : 0;
 					}
 				}
@@ -202,36 +322,36 @@ public class StressRules
 				// 2. Foot extrametricality
 				// The rules for a extrametricality are different on a right-edged word. For starters, in order to ensure
 				// a variety of language that includes both 
-				else if (internalExtrametricality && i < lastMetricalSyllable && !syl.isHeavy(consonantExtrametricality) &&
-						 name.getSyllables().get(i + 1).stress == leftStress &&
-						 (i > 0 && name.getSyllables().get(i - 1).isHeavy(consonantExtrametricality) == (rightStress == Stress.STRONG)))
+				else if (internalExtrametricality && i < lastMetricalSyllable && !heavy[i] &&
+						 stress[i + 1] == leftStress &&
+						 (i > 0 && heavy[i - 1] == (rightStress == Stress.STRONG)))
 				{
 					// Make this syllable strong if it would result in 3 consecutive weak syllables
 					if (externalExtrametricality && i == lastMetricalSyllable && stressRhythm == StressRhythm.TROCHAIC)
-						syl.stress = Stress.STRONG;
+						stress[i] = Stress.STRONG;
 					else
-						syl.stress = Stress.WEAK;
+						stress[i] = Stress.WEAK;
 				}
 				
 				// 3. Initial lapse prevention
 				// If the current syllable is the initial syllable, and the following is weak, the current syllable must be strong
 				// to prevent a pair of initial weak syllables (lapse)
-				else if (i == 0 && name.getSyllables().get(i + 1).stress == Stress.WEAK)
+				else if (i == 0 && stress[i + 1] == Stress.WEAK)
 				{
-					syl.stress = Stress.STRONG;
+					stress[i] = Stress.STRONG;
 				}
 				
 				// 4a. Application of default stress according to position in foot (beginning of foot)
 				else if (footPosition == 0)
 				{
-					syl.stress = rightStress;
+					stress[i] = rightStress;
 					footPosition = 1;
 				}
 				
 				// 4b. Application of default stress according to position in foot (end of foot)
 				else
 				{
-					syl.stress = leftStress;
+					stress[i] = leftStress;
 					footPosition = 0;
 				}
 			}
@@ -239,27 +359,27 @@ public class StressRules
 		// Assign primary stress
 		// Primary stress on first strong syllable
 		if (primaryStress == PrimaryStress.FIRST)
-			for (int i = 0; i < name.getSyllables().size(); i++)
+			for (int i = 0; i < n; i++)
 			{
-				if (name.getSyllables().get(i).stress == Stress.STRONG)
+				if (stress[i] == Stress.STRONG)
 				{
-					name.getSyllables().get(i).stress = Stress.PRIMARY;
+					stress[i] = Stress.PRIMARY;
 					return;
 				}
 			}
 		// Primary stress on last strong syllable
 		else
 		{
-			for (int i = name.getSyllables().size() - 1; i >= 0; i--)
+			for (int i = n - 1; i >= 0; i--)
 			{
-				if (name.getSyllables().get(i).stress == Stress.STRONG &&
-						(!avoidFinalPrimaryStress || i != name.getSyllables().size() - 1))
+				if (stress[i] == Stress.STRONG &&
+						(!avoidFinalPrimaryStress || i != n - 1))
 				{
-					name.getSyllables().get(i).stress = Stress.PRIMARY;
+					stress[i] = Stress.PRIMARY;
 					return;
 				}
 			}
-			name.getSyllables().get(name.getSyllables().size() - 1).stress = Stress.PRIMARY;
+			stress[n - 1] = Stress.PRIMARY;
 		}
 
 	}
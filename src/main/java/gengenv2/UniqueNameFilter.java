@@ -0,0 +1,319 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+import java.util.function.Predicate;
+
+import gengenv2.Name.Syllable;
+import gengenv2.Phonology.Constituent;
+
+/**
+ * A stage for removing repeated names from a stream of names, as in
+ * 		p.names().filter(UniqueNameFilter.exact(1000)).limit(1000)
+ * which yields 1000 different names from the Phonology p (provided it can make that many).
+ * 
+ * Names are identified by a 64-bit hash of their constituents, that is, of their segments and where each onset,
+ * nucleus, and coda begins, computed straight from the Name without rendering it. Two kinds of filter are
+ * offered:
+ * 1.	exact(), which keeps every hash it has seen in an open-addressing table. Its memory grows with the number of
+ * 		distinct names, up to 2^29 (about 537 million) names in 8 GiB, and distinct names are only mistaken for
+ * 		each other if their hashes collide, which at that many names happens with a probability of about 1 in 128.
+ * 2.	bloom(), which records names in a Bloom filter of fixed size. Its memory is set in advance, but a small and
+ * 		growing fraction of new names are mistaken for repeats and removed.
+ * 
+ * Both keep count of the names they have seen and the repeats they have removed, from which the collision rate
+ * of the stream so far can be read to size pools of names. A filter may be shared between the threads of a
+ * parallel stream, though it then lets through whichever copy of a repeated name reaches it first.
+ * 
+ * @since	1.2
+ */
+public abstract class UniqueNameFilter implements Predicate<Name>
+{
+	private long seen;			// Number of names tested
+	private long repeats;		// Number of names rejected as repeats
+	
+	/**
+	 * Creates a filter that removes every repeated name, up to collisions of their 64-bit hashes.
+	 * 
+	 * @param	expectedNames	The number of distinct names expected, for sizing the table; it grows as needed, up
+	 * 							to 2^29 names, after which testing a new name throws IllegalStateException
+	 * @return	A new exact filter
+	 * @since	1.2
+	 */
+	public static UniqueNameFilter exact(int expectedNames)
+	{
+		return new Exact(expectedNames);
+	}
+	
+	/**
+	 * Creates a filter of bounded memory that removes every repeated name, along with a fraction of new names
+	 * mistaken for repeats. The filter is sized so that this fraction reaches the given rate once the expected
+	 * number of names have passed through it, and rises beyond it thereafter.
+	 * 
+	 * @param	expectedNames		The number of distinct names expected
+	 * @param	falsePositiveRate	The greatest acceptable chance of removing a new name, between 0 and 1
+	 * @return	A new Bloom filter
+	 * @since	1.2
+	 */
+	public static UniqueNameFilter bloom(long expectedNames, double falsePositiveRate)
+	{
+		return new Bloom(expectedNames, falsePositiveRate);
+	}
+	
+	/**
+	 * Records the given name, returning true if it has not been seen before.
+	 * 
+	 * @param	name	A name
+	 * @return	True if the name is new, false if it is a repeat
+	 * @since	1.2
+	 */
+	public synchronized boolean test(Name name)
+	{
+		seen++;
+		if (add(hash(name)))
+			return true;
+		
+		repeats++;
+		return false;
+	}
+	
+	/**
+	 * Adds a hash to the set of those seen.
+	 * 
+	 * @param	hash	The hash of a name
+	 * @return	True if the hash was not already present
+	 */
+	abstract boolean add(long hash);
+	
+	/**
+	 * @return	The number of names tested by this filter
+	 * @since	1.2
+	 */
+	public synchronized long getSeen()
+	{
+		return seen;
+	}
+	
+	/**
+	 * @return	The number of names this filter has removed as repeats
+	 * @since	1.2
+	 */
+	public synchronized long getRepeats()
+	{
+		return repeats;
+	}
+	
+	/**
+	 * @return	The number of names this filter has let through
+	 * @since	1.2
+	 */
+	public synchronized long getUnique()
+	{
+		return seen - repeats;
+	}
+	
+	/**
+	 * Returns the fraction of the names tested so far that were removed as repeats. For a Bloom filter, this
+	 * includes new names mistaken for repeats.
+	 * 
+	 * @return	The fraction of names removed, or 0 if none have been tested
+	 * @since	1.2
+	 */
+	public synchronized double getCollisionRate()
+	{
+		return seen == 0 ? 0 : (double) repeats / seen;
+	}
+	
+	/**
+	 * @return	The chance that the next new name is mistaken for a repeat: 0 for an exact filter
+	 * @since	1.2
+	 */
+	public abstract double getFalsePositiveRate();
+	
+	/**
+	 * Computes a 64-bit hash of a name's constituents. Each segment is identified by its six-bit code and the
+	 * constituent it begins, if any, as in CompactName, so names with the same segments in different syllables
+	 * have different hashes; stress is left out.
+	 * 
+	 * @param	name	A name
+	 * @return	The hash of the name
+	 * @since	1.2
+	 */
+	static long hash(Name name)
+	{
+		long h = 0x9E3779B97F4A7C15L;
+		for (Syllable syl : name.getSyllables())
+			for (int j = 0; j < 3; j++)
+			{
+				Constituent c = syl.constituents[j];
+				if (c == null)
+					continue;
+				
+				int mark = (j == 0) ? CompactName.ONSET : (j == 1) ? CompactName.NUCLEUS : CompactName.CODA;
+				for (int k = 0; k < c.content.length; k++)
+				{
+					h = (h ^ (mark | CompactName.code(c.content[k].segment))) * 0x100000001B3L;
+					mark = CompactName.CONTINUATION;
+				}
+			}
+		
+		// Mix the bits with MurmurHash3's finalizer, so that every bit of the hash depends on every segment
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		h *= 0xC4CEB93FE1A85EC3L;
+		h ^= h >>> 33;
+		return h;
+	}
+	
+	/**
+	 * An open-addressing hash set of longs with linear probing, kept at most half full. The value 0 marks an empty
+	 * slot, so a hash of 0 is stored as 1 instead. The table is indexed by int, so it holds at most MAX_CAPACITY
+	 * slots and MAX_NAMES hashes.
+	 */
+	private static final class Exact extends UniqueNameFilter
+	{
+		static final int MAX_CAPACITY = 1 << 30;			// Greatest power of two that is a valid array length
+		static final int MAX_NAMES = MAX_CAPACITY / 2;		// Greatest number of hashes the table may hold
+		
+		private long[] table;
+		private int size;
+		
+		Exact(int expectedNames)
+		{
+			if (expectedNames < 0)
+				throw new IllegalArgumentException("Expected number of names must be non-negative: " + expectedNames);
+			
+			int capacity = 16;
+			while (capacity < 2L * expectedNames && capacity < MAX_CAPACITY)
+				capacity <<= 1;
+			table = new long[capacity];
+		}
+		
+		boolean add(long hash)
+		{
+			if (hash == 0)
+				hash = 1;
+			
+			if (2 * (size + 1) > table.length)
+				grow();
+			
+			int mask = table.length - 1;
+			for (int i = (int) hash & mask; ; i = (i + 1) & mask)
+			{
+				if (table[i] == hash)
+					return false;
+				if (table[i] == 0)
+				{
+					table[i] = hash;
+					size++;
+					return true;
+				}
+			}
+		}
+		
+		/**
+		 * Doubles the capacity of the table, reinserting every hash.
+		 * @throws	IllegalStateException	If the table already holds MAX_NAMES hashes
+		 */
+		private void grow()
+		{
+			if (table.length >= MAX_CAPACITY)
+				throw new IllegalStateException("Exact filter cannot hold more than " + MAX_NAMES + " distinct names");
+			
+			long[] old = table;
+			table = new long[old.length * 2];
+			int mask = table.length - 1;
+			
+			for (long hash : old)
+				if (hash != 0)
+				{
+					int i = (int) hash & mask;
+					while (table[i] != 0)
+						i = (i + 1) & mask;
+					table[i] = hash;
+				}
+		}
+		
+		public double getFalsePositiveRate()
+		{
+			return 0;
+		}
+	}
+	
+	/**
+	 * A Bloom filter of m bits with k probes per name. The probes are derived from the two halves of a name's
+	 * 64-bit hash by double hashing, as described by Kirsch and Mitzenmacher, rather than by hashing the name k
+	 * times over.
+	 */
+	private static final class Bloom extends UniqueNameFilter
+	{
+		private final long[] bits;
+		private final long m;		// Number of bits
+		private final int k;		// Number of probes per name
+		private long bitsSet;		// Number of bits set, for estimating the false positive rate
+		
+		Bloom(long expectedNames, double falsePositiveRate)
+		{
+			if (expectedNames < 1)
+				throw new IllegalArgumentException("Expected number of names must be positive: " + expectedNames);
+			if (!(falsePositiveRate > 0 && falsePositiveRate < 1))
+				throw new IllegalArgumentException("False positive rate must lie between 0 and 1: " + falsePositiveRate);
+			
+			// The optimal number of bits is -n ln(p) / ln(2)^2, with (m / n) ln(2) probes
+			double ln2 = Math.log(2);
+			long words = (long) Math.ceil(-expectedNames * Math.log(falsePositiveRate) / (ln2 * ln2) / 64);
+			if (words > Integer.MAX_VALUE - 8)
+				throw new IllegalArgumentException("Bloom filter too large: " + words + " words");
+			
+			bits = new long[(int) Math.max(words, 1)];
+			m = 64L * bits.length;
+			k = Math.max(1, (int) Math.round((double) m / expectedNames * ln2));
+		}
+		
+		boolean add(long hash)
+		{
+			int h1 = (int) hash;
+			int h2 = (int) (hash >>> 32);
+			boolean added = false;
+			
+			for (int i = 0; i < k; i++)
+			{
+				long bit = Math.floorMod(h1 + (long) i * h2, m);
+				int word = (int) (bit >>> 6);
+				long mask = 1L << bit;
+				if ((bits[word] & mask) == 0)
+				{
+					bits[word] |= mask;
+					bitsSet++;
+					added = true;
+				}
+			}
+			
+			return added;
+		}
+		
+		public synchronized double getFalsePositiveRate()
+		{
+			return Math.pow((double) bitsSet / m, k);
+		}
+	}
+}
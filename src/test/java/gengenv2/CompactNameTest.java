@@ -0,0 +1,83 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+import java.nio.ByteBuffer;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for CompactName, through which every Name is rendered.
+ */
+public class CompactNameTest extends TestCase
+{
+	/**
+	 * Names of 128 syllables or more need more than one byte for their syllable count.
+	 */
+	public void testLongNames()
+	{
+		Phonology p = new Phonology(2);
+		for (double ic : new double[] { 600, 1300 })
+		{
+			Name name = p.makeName(ic, ic + 20);
+			int syllables = name.getSyllables().size();
+			assertTrue("Expected a name of over 127 syllables, got " + syllables, syllables > 127);
+			
+			CompactName compact = name.compact();
+			assertEquals(syllables, compact.getSyllableCount());
+			for (int i = 0; i < syllables; i++)
+				assertEquals(name.getSyllables().get(i).stress, compact.getStress(i));
+			
+			int segments = 0;
+			for (Name.Syllable syl : name.getSyllables())
+				for (Phonology.Constituent c : syl.constituents)
+					if (c != null)
+						segments += c.content.length;
+			assertEquals(segments, compact.getSegmentCount());
+			
+			assertTrue(name.getPlain().length() >= segments);
+			assertTrue(name.getDefault().length() >= segments);
+			assertTrue(name.getIPA().length() >= segments);
+			
+			ByteBuffer buffer = ByteBuffer.allocate(compact.serializedSize());
+			compact.write(buffer);
+			buffer.flip();
+			CompactName read = CompactName.read(buffer);
+			assertEquals(compact, read);
+			assertEquals(compact.getPlain(), read.getPlain());
+			assertEquals(compact.getIPA(), read.getIPA());
+		}
+	}
+	
+	/**
+	 * Names of fewer than 128 syllables keep a single byte for their syllable count, as written by earlier versions.
+	 */
+	public void testShortNamesUnchanged()
+	{
+		Phonology p = new Phonology(1);
+		for (Name name : p.makeNames(200))
+		{
+			CompactName compact = name.compact();
+			assertEquals(name.getSyllables().size(), compact.getSyllableCount());
+			assertEquals(2 + 1 + compact.getSyllableCount() + compact.getSegmentCount() + 8, compact.serializedSize());
+		}
+	}
+}
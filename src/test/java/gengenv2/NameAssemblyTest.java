@@ -0,0 +1,67 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests that the compiled and interpreted name assembly flowcharts generate exactly the same names.
+ */
+public class NameAssemblyTest extends TestCase
+{
+	public void testCompiledMatchesInterpreted()
+	{
+		for (long seed = 1; seed <= 30; seed++)
+		{
+			Phonology p = new Phonology(seed);
+			for (long stream = 0; stream < 3; stream++)
+			{
+				p.setCompiledAssembly(true);
+				List<Name> compiled = p.newGenerator(stream).makeNames(300);
+				p.setCompiledAssembly(false);
+				List<Name> interpreted = p.newGenerator(stream).makeNames(300);
+				NameAssert.assertSameNames("seed " + seed + ", stream " + stream, compiled, interpreted);
+			}
+		}
+	}
+	
+	static List<Name> bandedNames(Phonology p, boolean compiled)
+	{
+		p.setCompiledAssembly(compiled);
+		NameGenerator generator = p.newGenerator(0);
+		List<Name> names = new ArrayList<Name>();
+		for (int i = 0; i < 50; i++)
+			names.add(generator.makeName(40, 60));
+		return names;
+	}
+	
+	public void testCompiledMatchesInterpretedInBand()
+	{
+		for (long seed = 1; seed <= 10; seed++)
+		{
+			Phonology p = new Phonology(seed);
+			NameAssert.assertSameNames("seed " + seed, bandedNames(p, true), bandedNames(p, false));
+		}
+	}
+}
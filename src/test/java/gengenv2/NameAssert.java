@@ -0,0 +1,68 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+import java.util.List;
+
+import junit.framework.Assert;
+
+/**
+ * Assertions shared by the tests that compare the names of two Phonologies or generators.
+ */
+final class NameAssert
+{
+	private NameAssert()
+	{
+	}
+	
+	/**
+	 * Asserts that two lists hold the same names, with the same stresses, pronunciations and information content.
+	 * 
+	 * @param	where		A description of the lists, for failure messages
+	 * @param	expected	The expected names
+	 * @param	actual		The names to check
+	 */
+	static void assertSameNames(String where, List<Name> expected, List<Name> actual)
+	{
+		Assert.assertEquals(where, expected.size(), actual.size());
+		for (int i = 0; i < expected.size(); i++)
+		{
+			Assert.assertEquals(where + ", name " + i, expected.get(i).getDefault(), actual.get(i).getDefault());
+			Assert.assertEquals(where + ", name " + i, expected.get(i).getIPA(), actual.get(i).getIPA());
+			Assert.assertEquals(where + ", name " + i, Double.doubleToLongBits(expected.get(i).getInformationContent()),
+					Double.doubleToLongBits(actual.get(i).getInformationContent()));
+		}
+	}
+	
+	/**
+	 * Asserts that two Phonologies have the same seed and generate the same names on each of several streams.
+	 * 
+	 * @param	expected	The expected Phonology
+	 * @param	actual		The Phonology to check
+	 */
+	static void assertSameNames(Phonology expected, Phonology actual)
+	{
+		Assert.assertEquals(expected.getSeed(), actual.getSeed());
+		for (long stream = 0; stream < 3; stream++)
+			assertSameNames("seed " + expected.getSeed() + ", stream " + stream,
+					expected.newGenerator(stream).makeNames(200), actual.newGenerator(stream).makeNames(200));
+	}
+}
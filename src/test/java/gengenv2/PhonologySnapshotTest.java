@@ -0,0 +1,99 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests that PhonologySnapshots restore Phonologies that generate exactly the same names as the originals.
+ */
+public class PhonologySnapshotTest extends TestCase
+{
+	public void testEncodeDecode()
+	{
+		for (long seed = 1; seed <= 20; seed++)
+		{
+			Phonology p = new Phonology(seed);
+			ByteBuffer buffer = PhonologySnapshot.encode(p);
+			Phonology restored = PhonologySnapshot.decode(buffer);
+			assertFalse("Snapshot not fully read", buffer.hasRemaining());
+			NameAssert.assertSameNames(p, restored);
+		}
+	}
+	
+	public void testReadFile() throws IOException
+	{
+		List<Phonology> phonologies = new ArrayList<Phonology>();
+		for (long seed = 100; seed < 110; seed++)
+			phonologies.add(new Phonology(seed));
+		
+		Path file = Files.createTempFile("gengen", ".snapshot");
+		try
+		{
+			PhonologySnapshot.write(phonologies, file);
+			List<Phonology> restored = PhonologySnapshot.read(file);
+			assertEquals(phonologies.size(), restored.size());
+			for (int i = 0; i < phonologies.size(); i++)
+				NameAssert.assertSameNames(phonologies.get(i), restored.get(i));
+		}
+		finally
+		{
+			Files.delete(file);
+		}
+	}
+	
+	public void testBadMagicNumber()
+	{
+		ByteBuffer buffer = PhonologySnapshot.encode(new Phonology(1));
+		buffer.putInt(0, PhonologySnapshot.MAGIC + 1);
+		try
+		{
+			PhonologySnapshot.decode(buffer);
+			fail("Decoded a snapshot with a bad magic number");
+		}
+		catch (IllegalArgumentException e)
+		{
+			// Expected
+		}
+	}
+	
+	public void testBadVersion()
+	{
+		ByteBuffer buffer = PhonologySnapshot.encode(new Phonology(1));
+		buffer.putShort(4, (short) (PhonologySnapshot.VERSION + 1));
+		try
+		{
+			PhonologySnapshot.decode(buffer);
+			fail("Decoded a snapshot of an unsupported version");
+		}
+		catch (IllegalArgumentException e)
+		{
+			// Expected
+		}
+	}
+}
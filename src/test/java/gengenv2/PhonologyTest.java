@@ -0,0 +1,98 @@
+/** Copyright 2018, 2019 Clayton Cooper
+ *	
+ *	This file is part of gengen2.
+ *
+ *	gengen2 is free software: you can redistribute it and/or modify
+ *	it under the terms of the GNU General Public License as published by
+ *	the Free Software Foundation, either version 3 of the License, or
+ *	(at your option) any later version.
+ *
+ *	gengen2 is distributed in the hope that it will be useful,
+ *	but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *	MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *	GNU General Public License for more details.
+ *
+ *	You should have received a copy of the GNU General Public License
+ *	along with gengen2.  If not, see <http://www.gnu.org/licenses/>.
+ * 
+ */
+
+
+package gengenv2;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests that the names of a Phonology depend only on its seed, however many threads generate them, and that
+ * names asked for within a band of information content lie within it.
+ */
+public class PhonologyTest extends TestCase
+{
+	// Enough names for five of the blocks into which a parallel stream divides its work, the last only partly full
+	static final int NAMES = 4 * NameSpliterator.BLOCK_SIZE + 1000;
+	
+	public void testSameNamesWhateverTheParallelism()
+	{
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try
+		{
+			for (long seed = 1; seed <= 5; seed++)
+			{
+				List<Name> expected = new Phonology(seed).names(NAMES).collect(Collectors.toList());
+				assertEquals(NAMES, expected.size());
+				
+				NameAssert.assertSameNames("seed " + seed + ", parallel stream", expected,
+						new Phonology(seed).names(NAMES).parallel().collect(Collectors.toList()));
+				for (int parallelism = 1; parallelism <= 6; parallelism++)
+					NameAssert.assertSameNames("seed " + seed + ", " + parallelism + " threads", expected,
+							new Phonology(seed).makeNames(NAMES, parallelism));
+				NameAssert.assertSameNames("seed " + seed + ", given pool", expected,
+						new Phonology(seed).makeNames(NAMES, pool));
+			}
+		}
+		finally
+		{
+			pool.shutdown();
+		}
+	}
+	
+	public void testBandNames()
+	{
+		for (long seed = 1; seed <= 5; seed++)
+		{
+			Phonology p = new Phonology(seed);
+			assertTrue("seed " + seed + ", rate before any band", Double.isNaN(p.getBandAcceptanceRate()));
+			
+			for (double minIC = 5; minIC <= 30; minIC += 5)
+			{
+				double maxIC = minIC + 1;
+				for (int i = 0; i < 200; i++)
+				{
+					double ic = p.makeName(minIC, maxIC).getInformationContent();
+					assertTrue("seed " + seed + ", " + ic + " outside [" + minIC + ", " + maxIC + "]",
+							ic >= minIC && ic <= maxIC);
+				}
+			}
+			
+			double rate = p.getBandAcceptanceRate();
+			assertTrue("seed " + seed + ", rate " + rate, rate >= 0.5 && rate <= 1);
+		}
+	}
+	
+	public void testBadParallelism()
+	{
+		try
+		{
+			new Phonology(1).makeNames(10, 0);
+			fail("Generated names on no threads");
+		}
+		catch (IllegalArgumentException e)
+		{
+			// Expected
+		}
+	}
+}